@@ -0,0 +1,123 @@
+package org.magadiflo.mockito.app.benchmarks;
+
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
+import org.magadiflo.mockito.app.repositories.impl.ExamRepositoryImpl;
+import org.magadiflo.mockito.app.repositories.impl.QuestionRepositoryImpl;
+import org.magadiflo.mockito.app.services.IExamService;
+import org.magadiflo.mockito.app.services.impl.ExamenServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide las rutas calientes del servicio sobre las implementaciones reales de los repositorios.
+ * Se ejecuta con el perfil {@code benchmark}, ver la sección "Benchmarks con JMH" del README.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ExamServiceBenchmark {
+    private static final int LOOKUP_NAMES = 1024;
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+        @Param({"10", "10000", "1000000"})
+        public int catalogSize;
+
+        public IExamService examService;
+        public String[] lookupNames;
+        public long[] lookupIds;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            List<Exam> exams = new ArrayList<>(this.catalogSize);
+            for (int i = 0; i < this.catalogSize; i++) {
+                exams.add(new Exam((long) i + 1, "Examen " + i));
+            }
+            ExamRepositoryImpl examRepository = new ExamRepositoryImpl(exams);
+            QuestionRepositoryImpl questionRepository = new QuestionRepositoryImpl();
+            this.examService = new ExamenServiceImpl(examRepository, questionRepository);
+
+            SplittableRandom random = new SplittableRandom(42);
+            this.lookupNames = new String[LOOKUP_NAMES];
+            this.lookupIds = new long[LOOKUP_NAMES];
+            for (int i = 0; i < LOOKUP_NAMES; i++) {
+                int index = random.nextInt(this.catalogSize);
+                this.lookupNames[i] = "Examen " + index;
+                this.lookupIds[i] = index + 1L;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        public String nextName(Catalog catalog) {
+            String name = catalog.lookupNames[this.next];
+            this.next = (this.next + 1) & (LOOKUP_NAMES - 1);
+            return name;
+        }
+
+        /**
+         * Una copia de un examen que ya existe, con su mismo id y nombre: guardarla reemplaza al original y el
+         * catálogo no crece durante la medición.
+         */
+        public Exam nextExam(Catalog catalog) {
+            Exam exam = new Exam(catalog.lookupIds[this.next], catalog.lookupNames[this.next]);
+            this.next = (this.next + 1) & (LOOKUP_NAMES - 1);
+            return exam;
+        }
+    }
+
+    @Benchmark
+    public Optional<Exam> findExamByName(Catalog catalog, Cursor cursor) {
+        return catalog.examService.findExamByName(cursor.nextName(catalog));
+    }
+
+    @Benchmark
+    public Exam findExamByNameOrNull(Catalog catalog, Cursor cursor) {
+        return catalog.examService.findExamByNameOrNull(cursor.nextName(catalog));
+    }
+
+    @Benchmark
+    public Exam findExamByNameWithQuestions(Catalog catalog, Cursor cursor) {
+        return catalog.examService.findExamByNameWithQuestions(cursor.nextName(catalog));
+    }
+
+    @Benchmark
+    public ExamWithQuestions findExamWithQuestions(Catalog catalog, Cursor cursor) {
+        return catalog.examService.findExamWithQuestions(cursor.nextName(catalog));
+    }
+
+    @Benchmark
+    public List<Exam> searchExams(Catalog catalog, Cursor cursor) {
+        String name = cursor.nextName(catalog);
+        return catalog.examService.searchExams(name.substring(0, name.length() - 1), 10);
+    }
+
+    @Benchmark
+    public Exam saveExam(Catalog catalog, Cursor cursor) {
+        Exam exam = cursor.nextExam(catalog);
+        exam.setQuestions(List.of("Pregunta 1", "Pregunta 2", "Pregunta 3"));
+        return catalog.examService.saveExam(exam);
+    }
+}
@@ -0,0 +1,197 @@
+package org.magadiflo.mockito.app.concurrent;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.UnaryOperator;
+
+/**
+ * Mapa de claves {@code long} con direccionamiento abierto (sondeo lineal), sin objetos {@link Long} ni nodos
+ * por entrada. Las lecturas no toman bloqueos; las escrituras bloquean solo uno de los {@value #SEGMENTS}
+ * segmentos en que se reparten las claves, así que escrituras de claves distintas rara vez se esperan entre sí.
+ * <p>
+ * Solo admite inserciones y reemplazos: sin borrados, una búsqueda puede detenerse en la primera casilla vacía.
+ * Cada casilla publica primero el valor y luego la clave, así que quien ve la clave ve también su valor.
+ */
+public final class LongHashMap<V> {
+    private static final long EMPTY = 0L;
+    private static final int MAX_FILL_PERCENT = 50;
+    private static final int SEGMENT_BITS = 4;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+
+    private final Segment<V>[] segments;
+
+    public LongHashMap() {
+        this(16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public LongHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("El tamaño esperado no puede ser negativo");
+        }
+        int capacity = capacityFor((expectedSize + SEGMENTS - 1) / SEGMENTS);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new Segment<>(capacity);
+        }
+    }
+
+    public V get(long key) {
+        long hash = hash(key);
+        return this.segmentFor(hash).get(key, hash << SEGMENT_BITS);
+    }
+
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "El valor no puede ser nulo");
+        long hash = hash(key);
+        return this.segmentFor(hash).put(key, hash << SEGMENT_BITS, value);
+    }
+
+    /**
+     * Reemplaza el valor de {@code key} por el que devuelve {@code update} a partir del actual ({@code null} si no
+     * hay). Es atómico respecto de las demás escrituras de la misma clave; {@code update} corre con el segmento
+     * bloqueado, así que debe ser breve y no escribir en este mapa.
+     */
+    public V compute(long key, UnaryOperator<V> update) {
+        long hash = hash(key);
+        return this.segmentFor(hash).compute(key, hash << SEGMENT_BITS, update);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : this.segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return this.segments[(int) (hash >>> (Long.SIZE - SEGMENT_BITS))];
+    }
+
+    private static long hash(long key) {
+        // Hash de Fibonacci: los bits altos eligen el segmento y los siguientes la casilla dentro de su tabla
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long minimum = Math.max(16L, expectedSize * 100L / MAX_FILL_PERCENT + 1);
+        if (minimum > 1 << 30) {
+            throw new IllegalArgumentException("Demasiadas entradas para un LongHashMap");
+        }
+        return Integer.highestOneBit((int) minimum - 1) << 1;
+    }
+
+    private static final class Segment<V> {
+        private volatile Table<V> table;
+        private volatile V zeroValue;
+        private volatile int size;
+
+        private Segment(int capacity) {
+            this.table = new Table<>(capacity);
+        }
+
+        private V get(long key, long hash) {
+            if (key == EMPTY) {
+                return this.zeroValue;
+            }
+            Table<V> table = this.table;
+            int index = table.indexOf(hash);
+            while (true) {
+                long current = table.keys.get(index);
+                if (current == key) {
+                    return table.values.get(index);
+                }
+                if (current == EMPTY) {
+                    return null;
+                }
+                index = (index + 1) & table.mask;
+            }
+        }
+
+        private synchronized V put(long key, long hash, V value) {
+            if (key == EMPTY) {
+                V previous = this.zeroValue;
+                this.zeroValue = value;
+                if (previous == null) {
+                    this.size++;
+                }
+                return previous;
+            }
+            Table<V> table = this.table;
+            int index = table.indexOf(hash);
+            while (true) {
+                long current = table.keys.get(index);
+                if (current == key) {
+                    return table.values.getAndSet(index, value);
+                }
+                if (current == EMPTY) {
+                    break;
+                }
+                index = (index + 1) & table.mask;
+            }
+            if ((this.size + 1) * 100L > (long) table.capacity() * MAX_FILL_PERCENT) {
+                this.table = table.resize();
+                table = this.table;
+                index = table.freeIndexOf(hash);
+            }
+            table.values.set(index, value);
+            table.keys.set(index, key);
+            this.size++;
+            return null;
+        }
+
+        private synchronized V compute(long key, long hash, UnaryOperator<V> update) {
+            V value = Objects.requireNonNull(update.apply(this.get(key, hash)), "El valor no puede ser nulo");
+            this.put(key, hash, value);
+            return value;
+        }
+    }
+
+    private static final class Table<V> {
+        private final AtomicLongArray keys;
+        private final AtomicReferenceArray<V> values;
+        private final int mask;
+        private final int shift;
+
+        private Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+            this.shift = Long.numberOfLeadingZeros(capacity - 1L);
+        }
+
+        private int capacity() {
+            return this.mask + 1;
+        }
+
+        private int indexOf(long hash) {
+            return (int) (hash >>> this.shift);
+        }
+
+        private int freeIndexOf(long hash) {
+            int index = this.indexOf(hash);
+            while (this.keys.get(index) != EMPTY) {
+                index = (index + 1) & this.mask;
+            }
+            return index;
+        }
+
+        private Table<V> resize() {
+            if (this.capacity() == 1 << 30) {
+                throw new IllegalStateException("Demasiadas entradas para un LongHashMap");
+            }
+            Table<V> resized = new Table<>(this.capacity() << 1);
+            for (int i = 0; i < this.capacity(); i++) {
+                long key = this.keys.get(i);
+                if (key != EMPTY) {
+                    int index = resized.freeIndexOf(hash(key) << SEGMENT_BITS);
+                    resized.values.set(index, this.values.get(i));
+                    resized.keys.set(index, key);
+                }
+            }
+            return resized;
+        }
+    }
+}
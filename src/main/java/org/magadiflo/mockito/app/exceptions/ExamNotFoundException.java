@@ -0,0 +1,44 @@
+package org.magadiflo.mockito.app.exceptions;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Se lanza cuando no existe el examen buscado. El mensaje se construye recién cuando alguien lo lee
+ * y, si se indica, no se captura la traza de la pila, de modo que un fallo de búsqueda sea barato.
+ */
+public class ExamNotFoundException extends NoSuchElementException {
+    private static final long serialVersionUID = 1L;
+
+    private final String name;
+    private String message;
+
+    public ExamNotFoundException(String name) {
+        this(name, true);
+    }
+
+    public ExamNotFoundException(String name, boolean writableStackTrace) {
+        super((String) null);
+        this.name = name;
+        if (writableStackTrace) {
+            super.fillInStackTrace();
+        }
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public String getMessage() {
+        if (this.message == null) {
+            this.message = String.format("¡No existe el exam %s buscado!", this.name);
+        }
+        return this.message;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        // Se invoca desde el constructor de Throwable, antes de asignar writableStackTrace
+        return this;
+    }
+}
@@ -0,0 +1,20 @@
+package org.magadiflo.mockito.app.exceptions;
+
+/**
+ * Fallo provocado a propósito por un {@link org.magadiflo.mockito.app.repositories.impl.FaultInjector} durante una
+ * prueba de carga. No captura la traza de la pila: con tasas de error altas crearla costaría más que la llamada.
+ */
+public class InjectedFaultException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String operation;
+
+    public InjectedFaultException(String operation) {
+        super("Fallo inyectado en " + operation, null, false, false);
+        this.operation = operation;
+    }
+
+    public String getOperation() {
+        return this.operation;
+    }
+}
@@ -0,0 +1,91 @@
+package org.magadiflo.mockito.app.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma concurrente de valores no negativos con buckets log-lineales, al estilo de HdrHistogram:
+ * cada potencia de dos se divide en 32 sub-buckets, por lo que los percentiles tienen un error relativo
+ * menor al 4% sin importar la magnitud del valor.
+ */
+public class Histogram implements ITimer, IDistribution {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(SUB_BUCKETS + (64 - SUB_BUCKET_BITS) * (SUB_BUCKETS / 2));
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void stop(long start) {
+        this.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void record(long value) {
+        long clamped = Math.max(value, 0);
+        this.buckets.incrementAndGet(bucketOf(clamped));
+        this.count.increment();
+        this.sum.add(clamped);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getSum() {
+        return this.sum.sum();
+    }
+
+    public double getMean() {
+        long count = this.getCount();
+        return count == 0 ? 0 : (double) this.getSum() / count;
+    }
+
+    /**
+     * Límite superior del bucket que contiene el percentil pedido, con {@code percentile} entre 0 y 100.
+     */
+    public long getPercentile(double percentile) {
+        long total = 0;
+        long[] counts = new long[this.buckets.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = this.buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(counts.length - 1);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) (value >>> exponent) - SUB_BUCKETS / 2;
+        return SUB_BUCKETS + (exponent - 1) * (SUB_BUCKETS / 2) + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / (SUB_BUCKETS / 2) + 1;
+        int subBucket = (bucket - SUB_BUCKETS) % (SUB_BUCKETS / 2) + SUB_BUCKETS / 2;
+        return (((long) subBucket + 1) << exponent) - 1;
+    }
+}
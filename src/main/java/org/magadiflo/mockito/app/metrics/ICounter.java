@@ -0,0 +1,5 @@
+package org.magadiflo.mockito.app.metrics;
+
+public interface ICounter {
+    void increment();
+}
@@ -0,0 +1,5 @@
+package org.magadiflo.mockito.app.metrics;
+
+public interface IDistribution {
+    void record(long value);
+}
@@ -0,0 +1,13 @@
+package org.magadiflo.mockito.app.metrics;
+
+public interface IMetricsRegistry {
+    ITimer timer(String name);
+
+    ICounter counter(String name);
+
+    IDistribution distribution(String name);
+
+    static IMetricsRegistry noop() {
+        return NoopMetricsRegistry.INSTANCE;
+    }
+}
@@ -0,0 +1,10 @@
+package org.magadiflo.mockito.app.metrics;
+
+public interface ITimer {
+    /**
+     * Marca de inicio para {@link #stop(long)}. Las implementaciones deshabilitadas devuelven 0 sin leer el reloj.
+     */
+    long start();
+
+    void stop(long start);
+}
@@ -0,0 +1,40 @@
+package org.magadiflo.mockito.app.metrics;
+
+final class NoopMetricsRegistry implements IMetricsRegistry, ITimer, ICounter, IDistribution {
+    static final NoopMetricsRegistry INSTANCE = new NoopMetricsRegistry();
+
+    private NoopMetricsRegistry() {
+    }
+
+    @Override
+    public ITimer timer(String name) {
+        return this;
+    }
+
+    @Override
+    public ICounter counter(String name) {
+        return this;
+    }
+
+    @Override
+    public IDistribution distribution(String name) {
+        return this;
+    }
+
+    @Override
+    public long start() {
+        return 0;
+    }
+
+    @Override
+    public void stop(long start) {
+    }
+
+    @Override
+    public void increment() {
+    }
+
+    @Override
+    public void record(long value) {
+    }
+}
@@ -0,0 +1,26 @@
+package org.magadiflo.mockito.app.metrics;
+
+/**
+ * Timer y contador de errores de una operación, resueltos una sola vez para no buscar en el registro en cada llamada.
+ */
+public final class Operation {
+    private final ITimer timer;
+    private final ICounter errors;
+
+    public Operation(IMetricsRegistry registry, String name) {
+        this.timer = registry.timer(name);
+        this.errors = registry.counter(name + ".errors");
+    }
+
+    public long start() {
+        return this.timer.start();
+    }
+
+    public void stop(long start) {
+        this.timer.stop(start);
+    }
+
+    public void failed() {
+        this.errors.increment();
+    }
+}
@@ -0,0 +1,49 @@
+package org.magadiflo.mockito.app.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro en memoria: los timers y distribuciones son {@link Histogram} y los contadores {@link LongAdder}.
+ */
+public class SimpleMetricsRegistry implements IMetricsRegistry {
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @Override
+    public ITimer timer(String name) {
+        return this.histogram(name);
+    }
+
+    @Override
+    public ICounter counter(String name) {
+        LongAdder counter = this.counters.computeIfAbsent(name, key -> new LongAdder());
+        return counter::increment;
+    }
+
+    @Override
+    public IDistribution distribution(String name) {
+        return this.histogram(name);
+    }
+
+    public Histogram histogram(String name) {
+        return this.histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    public long count(String name) {
+        LongAdder counter = this.counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    public Map<String, Histogram> getHistograms() {
+        return Map.copyOf(this.histograms);
+    }
+
+    public Map<String, Long> getCounters() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        this.counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        return snapshot;
+    }
+}
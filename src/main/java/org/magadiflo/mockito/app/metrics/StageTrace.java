@@ -0,0 +1,82 @@
+package org.magadiflo.mockito.app.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Una llamada muestreada por {@link StageTracer}: cuánto tardó cada etapa, en el orden en que se marcaron.
+ */
+public final class StageTrace {
+    private final String operation;
+    private final String key;
+    private final long startedAtMillis;
+    private final long totalNanos;
+    private final String[] stages;
+    private final long[] stageNanos;
+    private final boolean failed;
+
+    StageTrace(String operation, String key, long startedAtMillis, long totalNanos, String[] stages, long[] stageNanos,
+               boolean failed) {
+        this.operation = operation;
+        this.key = key;
+        this.startedAtMillis = startedAtMillis;
+        this.totalNanos = totalNanos;
+        this.stages = stages;
+        this.stageNanos = stageNanos;
+        this.failed = failed;
+    }
+
+    public String getOperation() {
+        return this.operation;
+    }
+
+    public String getKey() {
+        return this.key;
+    }
+
+    public long getStartedAtMillis() {
+        return this.startedAtMillis;
+    }
+
+    public long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    public List<String> getStages() {
+        return List.of(this.stages);
+    }
+
+    /**
+     * Duración de la etapa {@code stage} en nanosegundos, o -1 si la llamada no llegó a marcarla.
+     */
+    public long getStageNanos(String stage) {
+        for (int i = 0; i < this.stages.length; i++) {
+            if (this.stages[i].equals(stage)) {
+                return this.stageNanos[i];
+            }
+        }
+        return -1;
+    }
+
+    long stageNanosAt(int index) {
+        return this.stageNanos[index];
+    }
+
+    public boolean isFailed() {
+        return this.failed;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder(96)
+                .append(this.operation).append(" key=").append(this.key)
+                .append(" total=").append(TimeUnit.NANOSECONDS.toMicros(this.totalNanos)).append("us");
+        for (int i = 0; i < this.stages.length; i++) {
+            line.append(' ').append(this.stages[i]).append('=').append(TimeUnit.NANOSECONDS.toMicros(this.stageNanos[i])).append("us");
+        }
+        if (this.failed) {
+            line.append(" [error]");
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package org.magadiflo.mockito.app.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Evento de JFR con la duración de una etapa de una llamada muestreada. Solo se emite mientras haya una grabación
+ * que lo tenga habilitado, por ejemplo con {@code jcmd <pid> JFR.start}.
+ */
+@Name("org.magadiflo.mockito.StageTrace")
+@Label("Etapa de servicio")
+@Category({"Mockito App", "Tracing"})
+@Description("Duración de una etapa de una llamada muestreada por StageTracer")
+@StackTrace(false)
+final class StageTraceEvent extends Event {
+    @Label("Operación")
+    String operation;
+
+    @Label("Clave")
+    String key;
+
+    @Label("Etapa")
+    String stage;
+
+    @Label("Duración de la etapa")
+    @Timespan(Timespan.NANOSECONDS)
+    long stageDuration;
+
+    @Label("Con error")
+    boolean failed;
+}
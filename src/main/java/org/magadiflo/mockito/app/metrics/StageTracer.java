@@ -0,0 +1,245 @@
+package org.magadiflo.mockito.app.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Trazas por etapa de una operación, tomadas sobre una muestra de 1 de cada {@code sampleInterval} llamadas.
+ * <p>
+ * Quien llama abre un {@link Span} con {@link #start(String)}, marca el fin de cada etapa con {@link Span#mark(String)}
+ * y lo cierra con {@link Span#end()} o {@link Span#fail()}. Las trazas terminadas van a un buffer circular sin bloqueos
+ * de {@code capacity} posiciones, que pisa las más viejas; además se entregan al exportador, si hay uno, y se emiten
+ * como {@link StageTraceEvent} de JFR cuando hay una grabación activa.
+ * <p>
+ * Fuera de la muestra, y siempre con {@link #disabled()}, {@code start} devuelve un span compartido cuyas marcas no
+ * hacen nada: no se lee el reloj ni se asigna memoria.
+ */
+public final class StageTracer {
+    private static final int MAX_STAGES = 8;
+    private static final StageTracer DISABLED = new StageTracer();
+
+    private final String operation;
+    private final boolean enabled;
+    private final int sampleInterval;
+    private final AtomicReferenceArray<StageTrace> ring;
+    private final int mask;
+    private final AtomicLong written = new AtomicLong();
+    private final LongAdder failedExports = new LongAdder();
+    private volatile Consumer<StageTrace> exporter;
+
+    public StageTracer(String operation, int sampleInterval, int capacity) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("El intervalo de muestreo debe ser positivo");
+        }
+        if (capacity <= 0 || capacity > 1 << 20) {
+            throw new IllegalArgumentException("La capacidad del buffer debe estar entre 1 y " + (1 << 20));
+        }
+        int ringSize = Integer.highestOneBit(capacity - 1) << 1;
+        this.operation = operation;
+        this.enabled = true;
+        this.sampleInterval = sampleInterval;
+        this.ring = new AtomicReferenceArray<>(Math.max(ringSize, 1));
+        this.mask = this.ring.length() - 1;
+    }
+
+    private StageTracer() {
+        this.operation = "disabled";
+        this.enabled = false;
+        this.sampleInterval = Integer.MAX_VALUE;
+        this.ring = new AtomicReferenceArray<>(1);
+        this.mask = 0;
+    }
+
+    public static StageTracer disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Abre un span para la llamada identificada por {@code key}, o el span inerte si la llamada queda fuera de la muestra.
+     */
+    public Span start(String key) {
+        if (!this.enabled || (this.sampleInterval > 1 && ThreadLocalRandom.current().nextInt(this.sampleInterval) != 0)) {
+            return Span.NONE;
+        }
+        return new Span(this, key);
+    }
+
+    /**
+     * Recibe cada traza muestreada en el hilo que la terminó. Sus errores se cuentan y no llegan a quien llamó.
+     */
+    public void setExporter(Consumer<StageTrace> exporter) {
+        this.exporter = exporter;
+    }
+
+    /**
+     * Las trazas del buffer, de la más vieja a la más nueva. Si se siguen escribiendo mientras se leen, el orden es
+     * aproximado: una posición pisada en ese momento puede traer una traza más nueva en lugar de la esperada.
+     */
+    public List<StageTrace> recent() {
+        long end = this.written.get();
+        long begin = Math.max(0, end - this.ring.length());
+        List<StageTrace> traces = new ArrayList<>((int) (end - begin));
+        for (long i = begin; i < end; i++) {
+            StageTrace trace = this.ring.get((int) (i & this.mask));
+            if (trace != null) {
+                traces.add(trace);
+            }
+        }
+        return traces;
+    }
+
+    public long getTraceCount() {
+        return this.written.get();
+    }
+
+    public long getFailedExportCount() {
+        return this.failedExports.sum();
+    }
+
+    /**
+     * Volcado de texto del buffer: los percentiles 50 y 99 de cada etapa y luego una línea por traza.
+     */
+    public String dump() {
+        List<StageTrace> traces = this.recent();
+        StringBuilder text = new StringBuilder()
+                .append(this.operation).append(": ").append(traces.size()).append(" trazas (1 de cada ")
+                .append(this.sampleInterval).append(" llamadas)\n");
+        Map<String, List<Long>> nanosByStage = new LinkedHashMap<>();
+        nanosByStage.put("total", new ArrayList<>());
+        for (StageTrace trace : traces) {
+            nanosByStage.get("total").add(trace.getTotalNanos());
+            List<String> stages = trace.getStages();
+            for (int i = 0; i < stages.size(); i++) {
+                nanosByStage.computeIfAbsent(stages.get(i), stage -> new ArrayList<>()).add(trace.stageNanosAt(i));
+            }
+        }
+        for (Map.Entry<String, List<Long>> entry : nanosByStage.entrySet()) {
+            long[] nanos = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            if (nanos.length > 0) {
+                text.append("  ").append(entry.getKey())
+                        .append(" p50=").append(TimeUnit.NANOSECONDS.toMicros(percentile(nanos, 50))).append("us")
+                        .append(" p99=").append(TimeUnit.NANOSECONDS.toMicros(percentile(nanos, 99))).append("us\n");
+            }
+        }
+        for (StageTrace trace : traces) {
+            text.append("  ").append(trace).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private void publish(StageTrace trace) {
+        // Cada escritor reserva su posición con un incremento atómico; no hay bloqueos entre hilos
+        long slot = this.written.getAndIncrement();
+        this.ring.set((int) (slot & this.mask), trace);
+        Consumer<StageTrace> exporter = this.exporter;
+        if (exporter != null) {
+            try {
+                exporter.accept(trace);
+            } catch (RuntimeException e) {
+                this.failedExports.increment();
+            }
+        }
+        StageTraceEvent event = new StageTraceEvent();
+        if (event.isEnabled()) {
+            List<String> stages = trace.getStages();
+            for (int i = 0; i < stages.size(); i++) {
+                StageTraceEvent stageEvent = i == 0 ? event : new StageTraceEvent();
+                stageEvent.operation = trace.getOperation();
+                stageEvent.key = trace.getKey();
+                stageEvent.stage = stages.get(i);
+                stageEvent.stageDuration = trace.stageNanosAt(i);
+                stageEvent.failed = trace.isFailed();
+                stageEvent.commit();
+            }
+        }
+    }
+
+    /**
+     * Una llamada en curso. No es seguro para varios hilos: lo usa solo el hilo que lo abrió.
+     */
+    public static final class Span {
+        private static final Span NONE = new Span(null, null);
+
+        private final StageTracer tracer;
+        private final String key;
+        private final long startedAtMillis;
+        private final long startNanos;
+        private final String[] stages;
+        private final long[] stageNanos;
+        private long lastNanos;
+        private int count;
+
+        private Span(StageTracer tracer, String key) {
+            this.tracer = tracer;
+            this.key = key;
+            if (tracer == null) {
+                this.startedAtMillis = 0;
+                this.startNanos = 0;
+                this.stages = null;
+                this.stageNanos = null;
+            } else {
+                this.startedAtMillis = System.currentTimeMillis();
+                this.startNanos = System.nanoTime();
+                this.lastNanos = this.startNanos;
+                this.stages = new String[MAX_STAGES];
+                this.stageNanos = new long[MAX_STAGES];
+            }
+        }
+
+        /**
+         * Cierra la etapa {@code stage}: su duración es el tiempo desde la marca anterior o desde el inicio del span.
+         */
+        public void mark(String stage) {
+            if (this.tracer == null || this.count == MAX_STAGES) {
+                return;
+            }
+            long now = System.nanoTime();
+            this.stages[this.count] = stage;
+            this.stageNanos[this.count] = now - this.lastNanos;
+            this.count++;
+            this.lastNanos = now;
+        }
+
+        /**
+         * El span inerte, para las rutas que comparten código con una llamada trazada pero no se trazan.
+         */
+        public static Span none() {
+            return NONE;
+        }
+
+        public void end() {
+            this.finish(false);
+        }
+
+        public void fail() {
+            this.finish(true);
+        }
+
+        public boolean isSampled() {
+            return this.tracer != null;
+        }
+
+        private void finish(boolean failed) {
+            if (this.tracer == null) {
+                return;
+            }
+            long totalNanos = System.nanoTime() - this.startNanos;
+            this.tracer.publish(new StageTrace(this.tracer.operation, this.key, this.startedAtMillis, totalNanos,
+                    Arrays.copyOf(this.stages, this.count), Arrays.copyOf(this.stageNanos, this.count), failed));
+        }
+    }
+}
@@ -1,12 +1,11 @@
 package org.magadiflo.mockito.app.models;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class Exam {
     private Long id;
     private String name;
-    private List<String> questions = new ArrayList<>();
+    private List<String> questions = Questions.empty();
 
     public Exam(Long id, String name) {
         this.id = id;
@@ -0,0 +1,26 @@
+package org.magadiflo.mockito.app.models;
+
+import java.util.List;
+
+/**
+ * Vista inmutable de un {@link Exam} junto con sus preguntas. A diferencia de {@link Exam#setQuestions(List)},
+ * construirla no modifica el examen del repositorio, así que una misma instancia se puede compartir entre hilos.
+ */
+public record ExamWithQuestions(Long id, String name, List<String> questions) {
+    public ExamWithQuestions {
+        questions = Questions.immutable(questions);
+    }
+
+    public static ExamWithQuestions of(Exam exam, List<String> questions) {
+        return new ExamWithQuestions(exam.getId(), exam.getName(), questions);
+    }
+
+    /**
+     * Copia mutable para los llamadores que todavía trabajan con {@link Exam}.
+     */
+    public Exam toExam() {
+        Exam exam = new Exam(this.id, this.name);
+        exam.setQuestions(this.questions);
+        return exam;
+    }
+}
@@ -0,0 +1,45 @@
+package org.magadiflo.mockito.app.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+final class PackedQuestionList extends AbstractList<String> implements RandomAccess {
+    private final byte[] data;
+    private final int[] offsets;
+
+    private PackedQuestionList(byte[] data, int[] offsets) {
+        this.data = data;
+        this.offsets = offsets;
+    }
+
+    static PackedQuestionList of(List<String> questions) {
+        int size = questions.size();
+        byte[][] encoded = new byte[size][];
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            encoded[i] = questions.get(i).getBytes(StandardCharsets.UTF_8);
+            offsets[i + 1] = offsets[i] + encoded[i].length;
+        }
+        byte[] data = new byte[offsets[size]];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(encoded[i], 0, data, offsets[i], encoded[i].length);
+        }
+        return new PackedQuestionList(data, offsets);
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= this.size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int from = this.offsets[index];
+        return new String(this.data, from, this.offsets[index + 1] - from, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int size() {
+        return this.offsets.length - 1;
+    }
+}
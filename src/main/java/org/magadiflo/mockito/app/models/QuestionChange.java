@@ -0,0 +1,25 @@
+package org.magadiflo.mockito.app.models;
+
+/**
+ * Cambio puntual sobre la lista de preguntas de un examen: agregar una pregunta al final, quitar o reemplazar
+ * la que está en {@code index}. Se aplican en orden con {@link Questions#apply(java.util.List, java.util.List)}.
+ */
+public record QuestionChange(Type type, int index, String question) {
+    public enum Type {
+        ADD,
+        REMOVE,
+        REPLACE
+    }
+
+    public static QuestionChange add(String question) {
+        return new QuestionChange(Type.ADD, -1, question);
+    }
+
+    public static QuestionChange remove(int index) {
+        return new QuestionChange(Type.REMOVE, index, null);
+    }
+
+    public static QuestionChange replace(int index, String question) {
+        return new QuestionChange(Type.REPLACE, index, question);
+    }
+}
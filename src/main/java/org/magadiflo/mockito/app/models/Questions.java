@@ -0,0 +1,74 @@
+package org.magadiflo.mockito.app.models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Representaciones compactas para las listas de preguntas de un {@link Exam}.
+ */
+public final class Questions {
+    private Questions() {
+    }
+
+    public static List<String> empty() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Vista inmutable de la lista; las que ya lo son (vacías, empaquetadas o creadas con {@code List.of}) no se copian.
+     */
+    public static List<String> immutable(List<String> questions) {
+        if (questions == null || questions.isEmpty()) {
+            return empty();
+        }
+        if (questions instanceof PackedQuestionList) {
+            return questions;
+        }
+        return List.copyOf(questions);
+    }
+
+    /**
+     * Copia inmutable cuyos textos están deduplicados contra el pool de strings de la JVM,
+     * de modo que "Pregunta 1" existe una sola vez aunque la compartan millones de exámenes.
+     */
+    public static List<String> intern(List<String> questions) {
+        if (questions == null || questions.isEmpty()) {
+            return empty();
+        }
+        String[] interned = new String[questions.size()];
+        for (int i = 0; i < interned.length; i++) {
+            interned[i] = questions.get(i).intern();
+        }
+        return List.of(interned);
+    }
+
+    /**
+     * Codifica todas las preguntas en un único arreglo UTF-8 con una tabla de offsets.
+     * Cada {@code get(i)} decodifica un String nuevo, por lo que conviene para listas que se leen poco.
+     */
+    public static List<String> pack(List<String> questions) {
+        if (questions == null || questions.isEmpty()) {
+            return empty();
+        }
+        if (questions instanceof PackedQuestionList) {
+            return questions;
+        }
+        return PackedQuestionList.of(questions);
+    }
+
+    /**
+     * Aplica los cambios en orden sobre una copia de {@code questions} y devuelve el resultado inmutable.
+     */
+    public static List<String> apply(List<String> questions, List<QuestionChange> changes) {
+        List<String> updated = questions == null ? new ArrayList<>() : new ArrayList<>(questions);
+        for (QuestionChange change : changes) {
+            switch (change.type()) {
+                case ADD -> updated.add(change.question());
+                case REMOVE -> updated.remove(change.index());
+                case REPLACE -> updated.set(change.index(), change.question());
+            }
+        }
+        return immutable(updated);
+    }
+}
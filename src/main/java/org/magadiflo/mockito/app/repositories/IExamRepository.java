@@ -2,10 +2,27 @@ package org.magadiflo.mockito.app.repositories;
 
 import org.magadiflo.mockito.app.models.Exam;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface IExamRepository {
     List<Exam> findAll();
 
+    Stream<Exam> streamAll();
+
+    List<Exam> findPage(long afterId, int limit);
+
+    Optional<Exam> findByName(String name);
+
+    List<Exam> findByNames(Collection<String> names);
+
+    Optional<Exam> findById(Long id);
+
+    List<Exam> findByIds(Collection<Long> ids);
+
     Exam saveExam(Exam exam);
+
+    List<Exam> saveExams(List<Exam> exams);
 }
@@ -1,9 +1,24 @@
 package org.magadiflo.mockito.app.repositories;
 
+import org.magadiflo.mockito.app.models.QuestionChange;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface IQuestionRepository {
     List<String> findQuestionsByExamId(Long id);
 
+    Map<Long, List<String>> findQuestionsByExamIds(Collection<Long> ids);
+
     void saveQuestions(List<String> questions);
+
+    /**
+     * Guarda de una vez las preguntas de varios exámenes; equivale a un {@link #saveQuestions(long, List)} por entrada.
+     */
+    void saveAllQuestions(Map<Long, List<String>> questionsByExamId);
+
+    void saveQuestions(long examId, List<String> questions);
+
+    void updateQuestions(long examId, List<QuestionChange> changes);
 }
@@ -0,0 +1,271 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.models.Questions;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorador de {@link IQuestionRepository} que guarda en memoria las preguntas por examen.
+ * La caché está acotada a {@code maximumSize} entradas (se descarta la menos usada recientemente),
+ * cada entrada expira pasado el {@code ttl} y {@link #saveQuestions(List)} la invalida por completo; las escrituras
+ * de un examen concreto solo invalidan su entrada.
+ * <p>
+ * Las entradas se reparten por id entre segmentos con su propio bloqueo, así que los aciertos sobre exámenes distintos
+ * no compiten entre sí. El orden de uso es exacto dentro de cada segmento y aproximado entre segmentos; con menos de
+ * 128 entradas hay un único segmento y el LRU es exacto.
+ */
+public class CachedQuestionRepositoryImpl implements IQuestionRepository {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_ENTRIES_PER_SEGMENT = 64;
+
+    private final IQuestionRepository questionRepository;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachedQuestionRepositoryImpl(IQuestionRepository questionRepository, int maximumSize, Duration ttl) {
+        this(questionRepository, maximumSize, ttl, System::nanoTime);
+    }
+
+    CachedQuestionRepositoryImpl(IQuestionRepository questionRepository, int maximumSize, Duration ttl, LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de la caché debe ser positivo");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("El ttl de la caché debe ser positivo");
+        }
+        this.questionRepository = questionRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize / MIN_ENTRIES_PER_SEGMENT)));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // El resto se reparte entre los primeros segmentos para que la suma sea exactamente maximumSize
+            int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+            this.segments[i] = new Segment(capacity, this.evictions);
+        }
+        this.segmentMask = segmentCount - 1;
+    }
+
+    @Override
+    public List<String> findQuestionsByExamId(Long id) {
+        if (id == null) {
+            return this.questionRepository.findQuestionsByExamId(null);
+        }
+        Segment segment = this.segmentFor(id);
+        List<String> questions = segment.getIfPresent(id, this.ticker.getAsLong());
+        if (questions != null) {
+            this.hits.increment();
+            return questions;
+        }
+        this.misses.increment();
+        Load load = segment.beginLoad(id);
+        try {
+            questions = this.questionRepository.findQuestionsByExamId(id);
+        } catch (RuntimeException e) {
+            segment.endLoad(id, load, null, 0);
+            throw e;
+        }
+        segment.endLoad(id, load, Questions.intern(questions), this.ticker.getAsLong() + this.ttlNanos);
+        return questions;
+    }
+
+    @Override
+    public Map<Long, List<String>> findQuestionsByExamIds(Collection<Long> ids) {
+        Map<Long, List<String>> questionsByExamId = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long now = this.ticker.getAsLong();
+        for (Long id : ids) {
+            List<String> questions = id == null ? null : this.segmentFor(id).getIfPresent(id, now);
+            if (questions != null) {
+                this.hits.increment();
+                questionsByExamId.put(id, questions);
+            } else {
+                this.misses.increment();
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty()) {
+            return questionsByExamId;
+        }
+        // Un id repetido se registra una sola vez: cada beginLoad necesita su endLoad, que se llama una vez por entrada
+        Map<Long, Load> loads = new HashMap<>();
+        for (Long id : missing) {
+            if (id != null && !loads.containsKey(id)) {
+                loads.put(id, this.segmentFor(id).beginLoad(id));
+            }
+        }
+        Map<Long, List<String>> loaded = null;
+        try {
+            loaded = this.questionRepository.findQuestionsByExamIds(missing);
+        } finally {
+            long expiresAt = this.ticker.getAsLong() + this.ttlNanos;
+            for (Map.Entry<Long, Load> load : loads.entrySet()) {
+                List<String> questions = loaded == null ? null : loaded.get(load.getKey());
+                this.segmentFor(load.getKey()).endLoad(load.getKey(), load.getValue(),
+                        questions == null ? null : Questions.intern(questions), expiresAt);
+            }
+        }
+        questionsByExamId.putAll(loaded);
+        return questionsByExamId;
+    }
+
+    @Override
+    public void saveQuestions(List<String> questions) {
+        this.questionRepository.saveQuestions(questions);
+        this.invalidateAll();
+    }
+
+    @Override
+    public void saveAllQuestions(Map<Long, List<String>> questionsByExamId) {
+        this.questionRepository.saveAllQuestions(questionsByExamId);
+        for (Long examId : questionsByExamId.keySet()) {
+            this.invalidate(examId);
+        }
+    }
+
+    @Override
+    public void saveQuestions(long examId, List<String> questions) {
+        this.questionRepository.saveQuestions(examId, questions);
+        this.invalidate(examId);
+    }
+
+    @Override
+    public void updateQuestions(long examId, List<QuestionChange> changes) {
+        this.questionRepository.updateQuestions(examId, changes);
+        this.invalidate(examId);
+    }
+
+    public void invalidate(long examId) {
+        this.segmentFor(examId).invalidate(examId);
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : this.segments) {
+            segment.invalidateAll();
+        }
+    }
+
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return this.evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(long id) {
+        return this.segments[(Long.hashCode(id) * 0x9E3779B9 >>> 16) & this.segmentMask];
+    }
+
+    /**
+     * Un LRU exacto protegido por su propio monitor, junto con las cargas en curso de sus claves.
+     */
+    private static final class Segment {
+        private final int capacity;
+        private final LongAdder evictions;
+        private final LinkedHashMap<Long, CacheEntry> entries;
+        private final Map<Long, Load> loads = new HashMap<>();
+
+        private Segment(int capacity, LongAdder evictions) {
+            this.capacity = capacity;
+            this.evictions = evictions;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+                    boolean evict = this.size() > Segment.this.capacity;
+                    if (evict) {
+                        Segment.this.evictions.increment();
+                    }
+                    return evict;
+                }
+            };
+        }
+
+        private synchronized List<String> getIfPresent(long id, long now) {
+            CacheEntry entry = this.entries.get(id);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiresAt() >= 0) {
+                this.entries.remove(id);
+                this.evictions.increment();
+                return null;
+            }
+            return entry.questions();
+        }
+
+        private synchronized Load beginLoad(long id) {
+            Load load = this.loads.computeIfAbsent(id, key -> new Load());
+            load.loaders++;
+            return load;
+        }
+
+        private synchronized void endLoad(long id, Load load, List<String> questions, long expiresAt) {
+            if (--load.loaders == 0) {
+                this.loads.remove(id, load);
+            }
+            // Si este examen se invalidó mientras se cargaba, el resultado puede estar obsoleto
+            if (questions != null && !load.stale) {
+                this.entries.put(id, new CacheEntry(questions, expiresAt));
+            }
+        }
+
+        private synchronized void invalidate(long id) {
+            this.entries.remove(id);
+            Load load = this.loads.get(id);
+            if (load != null) {
+                load.stale = true;
+            }
+        }
+
+        private synchronized void invalidateAll() {
+            this.entries.clear();
+            for (Load load : this.loads.values()) {
+                load.stale = true;
+            }
+        }
+
+        private synchronized int size() {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Cargas en curso de una misma clave. Si se invalida mientras hay alguna, ninguna de ellas guarda su resultado,
+     * ni siquiera las que empezaron después de la invalidación: se pierde un acierto, nunca se sirve algo obsoleto.
+     */
+    private static final class Load {
+        private int loaders;
+        private boolean stale;
+    }
+
+    private record CacheEntry(List<String> questions, long expiresAt) {
+    }
+}
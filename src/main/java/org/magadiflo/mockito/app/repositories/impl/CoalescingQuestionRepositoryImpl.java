@@ -0,0 +1,52 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.concurrent.SingleFlight;
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorador de {@link IQuestionRepository} que une las lecturas concurrentes del mismo examen en una sola
+ * llamada al repositorio decorado.
+ */
+public class CoalescingQuestionRepositoryImpl implements IQuestionRepository {
+    private final IQuestionRepository questionRepository;
+    private final SingleFlight<Long, List<String>> questionsByExamId = new SingleFlight<>();
+
+    public CoalescingQuestionRepositoryImpl(IQuestionRepository questionRepository) {
+        this.questionRepository = questionRepository;
+    }
+
+    @Override
+    public List<String> findQuestionsByExamId(Long id) {
+        return this.questionsByExamId.execute(id, () -> this.questionRepository.findQuestionsByExamId(id));
+    }
+
+    @Override
+    public Map<Long, List<String>> findQuestionsByExamIds(Collection<Long> ids) {
+        return this.questionRepository.findQuestionsByExamIds(ids);
+    }
+
+    @Override
+    public void saveQuestions(List<String> questions) {
+        this.questionRepository.saveQuestions(questions);
+    }
+
+    @Override
+    public void saveAllQuestions(Map<Long, List<String>> questionsByExamId) {
+        this.questionRepository.saveAllQuestions(questionsByExamId);
+    }
+
+    @Override
+    public void saveQuestions(long examId, List<String> questions) {
+        this.questionRepository.saveQuestions(examId, questions);
+    }
+
+    @Override
+    public void updateQuestions(long examId, List<QuestionChange> changes) {
+        this.questionRepository.updateQuestions(examId, changes);
+    }
+}
@@ -0,0 +1,614 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.models.Exam;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Log de solo anexado, mapeado en memoria, donde cada registro guarda un examen junto con sus preguntas.
+ * <p>
+ * Formato: una cabecera {@code [magic:int][version:int][end:long]} seguida de registros
+ * {@code [type:byte][length:int][id:long][name][count:int][question]*}, donde cada texto es
+ * {@code [bytes:int][utf-8]}. El campo {@code end} de la cabecera se actualiza después de escribir cada
+ * registro, de modo que si el proceso muere a mitad de un registro, este se ignora al reabrir. Eso no cubre una
+ * caída del sistema: el kernel puede llevar a disco las páginas mapeadas en cualquier orden, y {@code end} podría
+ * llegar antes que el registro. Con {@link #open(Path, boolean)} y {@code forceOnWrite} cada registro se fuerza a
+ * disco antes de actualizar {@code end}, y luego se fuerza la cabecera, a costa de dos sincronizaciones por
+ * escritura; sin esa opción, la durabilidad llega con {@link #force()}, la compactación o el cierre.
+ * <p>
+ * En memoria solo se guarda el offset del último registro de cada id; nombres y preguntas se leen
+ * directamente del archivo mapeado. Cuando los registros reemplazados superan a los vigentes, el log
+ * se compacta reescribiendo únicamente los registros vigentes.
+ * <p>
+ * Al cerrar (o con {@link #writeSnapshot()}) los índices se vuelcan a un {@link ExamLogSnapshot}. Al reabrir,
+ * si la instantánea no es posterior al log, se mapea tal cual y solo se reindexan los registros anexados
+ * después de ella; si no, se reconstruye el índice recorriendo todo el log.
+ */
+public class ExamLog implements Closeable {
+    private static final int MAGIC = 0x45584C47;
+    private static final int VERSION = 1;
+    private static final int END_OFFSET = 8;
+    private static final int HEADER_SIZE = 16;
+    private static final byte EXAM_RECORD = 1;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+    private static final long COMPACTION_THRESHOLD = 1024 * 1024;
+
+    private final Path path;
+    private final Path snapshotPath;
+    private final boolean forceOnWrite;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Long, Integer> offsetsById = new TreeMap<>();
+    private final Map<String, Long> idsByName = new HashMap<>();
+    private ExamLogSnapshot snapshot;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    private long liveBytes;
+    private long sequence;
+
+    private ExamLog(Path path, boolean forceOnWrite) {
+        this.path = path;
+        this.snapshotPath = ExamLogSnapshot.pathOf(path);
+        this.forceOnWrite = forceOnWrite;
+    }
+
+    public static ExamLog open(Path path) {
+        return open(path, false);
+    }
+
+    /**
+     * Con {@code forceOnWrite} cada escritura vuelve recién cuando su registro y la cabecera que lo publica están en
+     * disco, así que ni una caída del sistema deja a {@code end} apuntando a un registro incompleto.
+     */
+    public static ExamLog open(Path path, boolean forceOnWrite) {
+        ExamLog log = new ExamLog(path, forceOnWrite);
+        try {
+            log.map();
+            if (!log.restoreSnapshot()) {
+                log.rebuildIndex();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return log;
+    }
+
+    /**
+     * Agrega un registro con el nombre y las preguntas de {@code exam}. Si el examen ya existe y llega sin preguntas
+     * (por ejemplo, porque se leyó con {@link #readExam(long)}, que no las carga, y luego se renombró), el registro
+     * nuevo conserva las preguntas vigentes; para vaciarlas hay que usar {@link #updateQuestions(long, UnaryOperator)}.
+     */
+    public Exam append(Exam exam) {
+        this.lock.writeLock().lock();
+        try {
+            if (exam.getId() == null) {
+                exam.setId(++this.sequence);
+            } else {
+                this.sequence = Math.max(this.sequence, exam.getId());
+            }
+            List<String> questions = exam.getQuestions() == null ? List.of() : exam.getQuestions();
+            int previous = questions.isEmpty() ? this.offsetOf(exam.getId()) : -1;
+            this.write(exam.getId(), exam.getName(), previous < 0 ? questions : this.readQuestionsAt(previous));
+            this.compactIfNeeded();
+            return exam;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public Exam readExam(long id) {
+        this.lock.readLock().lock();
+        try {
+            int offset = this.offsetOf(id);
+            if (offset < 0) {
+                return null;
+            }
+            int position = offset + 1 + 4 + 8;
+            String name = this.readString(position);
+            return new Exam(id, name);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<String> readQuestions(long id) {
+        this.lock.readLock().lock();
+        try {
+            int offset = this.offsetOf(id);
+            return offset < 0 ? List.of() : this.readQuestionsAt(offset);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega un registro nuevo del examen {@code id} con el mismo nombre y las preguntas que devuelve {@code update}
+     * a partir de las actuales, salvo que no cambien: guardar las mismas preguntas que ya escribió {@link #append(Exam)}
+     * no agrega un segundo registro. Devuelve {@code false} si el examen no existe.
+     */
+    public boolean updateQuestions(long id, UnaryOperator<List<String>> update) {
+        this.lock.writeLock().lock();
+        try {
+            int offset = this.offsetOf(id);
+            if (offset < 0) {
+                return false;
+            }
+            String name = this.readString(offset + 1 + 4 + 8);
+            List<String> current = this.readQuestionsAt(offset);
+            List<String> questions = update.apply(current);
+            if (questions.equals(current)) {
+                return true;
+            }
+            this.write(id, name, questions);
+            this.compactIfNeeded();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reemplaza las preguntas de varios exámenes bajo un solo bloqueo de escritura, con las mismas reglas que
+     * {@link #updateQuestions(long, UnaryOperator)}. Si alguno no existe no escribe nada y devuelve {@code false}.
+     */
+    public boolean replaceQuestions(Map<Long, List<String>> questionsById) {
+        this.lock.writeLock().lock();
+        try {
+            for (Long id : questionsById.keySet()) {
+                if (this.offsetOf(id) < 0) {
+                    return false;
+                }
+            }
+            for (Map.Entry<Long, List<String>> entry : questionsById.entrySet()) {
+                int offset = this.offsetOf(entry.getKey());
+                if (!entry.getValue().equals(this.readQuestionsAt(offset))) {
+                    this.write(entry.getKey(), this.readString(offset + 1 + 4 + 8), entry.getValue());
+                }
+            }
+            this.compactIfNeeded();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public Long findIdByName(String name) {
+        this.lock.readLock().lock();
+        try {
+            return this.findIdByNameLocked(name);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> ids() {
+        this.lock.readLock().lock();
+        try {
+            return this.liveIds();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hasta {@code limit} ids mayores que {@code afterId}, en orden ascendente. Mezcla la instantánea y los
+     * registros recientes desde sus posiciones de inicio, por lo que cuesta O(log n + limit).
+     */
+    public List<Long> idsAfter(long afterId, int limit) {
+        this.lock.readLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+            Iterator<Long> recent = this.offsetsById.tailMap(afterId, false).keySet().iterator();
+            Long next = recent.hasNext() ? recent.next() : null;
+            int count = this.snapshot == null ? 0 : this.snapshot.count();
+            int i = this.snapshot == null ? 0 : this.snapshot.indexAfter(afterId);
+            while (ids.size() < limit && (next != null || i < count)) {
+                long snapshotId = i < count ? this.snapshot.idAt(i) : Long.MAX_VALUE;
+                if (next != null && next <= snapshotId) {
+                    ids.add(next);
+                    if (next == snapshotId) {
+                        i++;
+                    }
+                    next = recent.hasNext() ? recent.next() : null;
+                } else {
+                    ids.add(snapshotId);
+                    i++;
+                }
+            }
+            return ids;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            if (this.snapshot == null) {
+                return this.offsetsById.size();
+            }
+            int size = this.snapshot.count();
+            for (Long id : this.offsetsById.keySet()) {
+                if (this.snapshot.offsetOf(id) < 0) {
+                    size++;
+                }
+            }
+            return size;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public void compact() {
+        this.lock.writeLock().lock();
+        try {
+            this.compactLocked();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void writeSnapshot() {
+        this.lock.writeLock().lock();
+        try {
+            this.writeSnapshotLocked();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public void force() {
+        this.lock.writeLock().lock();
+        try {
+            this.buffer.force();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.lock.writeLock().lock();
+        try {
+            this.writeSnapshotLocked();
+            this.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    long sizeInBytes() {
+        return this.end;
+    }
+
+    boolean isRestoredFromSnapshot() {
+        return this.snapshot != null;
+    }
+
+    private void write(long id, String name, List<String> questions) throws IOException {
+        byte[] nameBytes = name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+        byte[][] questionBytes = new byte[questions.size()][];
+        int length = 8 + 4 + (nameBytes == null ? 0 : nameBytes.length) + 4;
+        for (int i = 0; i < questionBytes.length; i++) {
+            questionBytes[i] = questions.get(i).getBytes(StandardCharsets.UTF_8);
+            length += 4 + questionBytes[i].length;
+        }
+        int recordSize = 1 + 4 + length;
+        this.ensureCapacity(recordSize);
+
+        int offset = this.end;
+        int position = offset;
+        this.buffer.put(position, EXAM_RECORD);
+        this.buffer.putInt(position + 1, length);
+        this.buffer.putLong(position + 5, id);
+        position += 13;
+        position = this.putBytes(position, nameBytes);
+        this.buffer.putInt(position, questionBytes.length);
+        position += 4;
+        for (byte[] question : questionBytes) {
+            position = this.putBytes(position, question);
+        }
+        if (this.forceOnWrite) {
+            this.buffer.force(offset, recordSize);
+        }
+        this.end = position;
+        this.buffer.putLong(END_OFFSET, this.end);
+        if (this.forceOnWrite) {
+            this.buffer.force(END_OFFSET, 8);
+        }
+        this.index(id, name, offset, recordSize);
+    }
+
+    private int putBytes(int position, byte[] bytes) {
+        if (bytes == null) {
+            this.buffer.putInt(position, -1);
+            return position + 4;
+        }
+        this.buffer.putInt(position, bytes.length);
+        this.buffer.put(position + 4, bytes);
+        return position + 4 + bytes.length;
+    }
+
+    private String readString(int position) {
+        int length = this.buffer.getInt(position);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        this.buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<String> readQuestionsAt(int offset) {
+        int position = offset + 1 + 4 + 8;
+        position += 4 + Math.max(this.buffer.getInt(position), 0);
+        int count = this.buffer.getInt(position);
+        position += 4;
+        String[] questions = new String[count];
+        for (int i = 0; i < count; i++) {
+            questions[i] = this.readString(position);
+            position += 4 + this.buffer.getInt(position);
+        }
+        return List.of(questions);
+    }
+
+    private void compactIfNeeded() throws IOException {
+        if (this.end - HEADER_SIZE > COMPACTION_THRESHOLD && this.end - HEADER_SIZE > 2 * this.liveBytes) {
+            this.compactLocked();
+        }
+    }
+
+    private int offsetOf(long id) {
+        Integer offset = this.offsetsById.get(id);
+        if (offset != null) {
+            return offset;
+        }
+        return this.snapshot == null ? -1 : this.snapshot.offsetOf(id);
+    }
+
+    private List<Long> liveIds() {
+        if (this.snapshot == null) {
+            return new ArrayList<>(this.offsetsById.keySet());
+        }
+        List<Long> ids = new ArrayList<>(this.snapshot.count() + this.offsetsById.size());
+        Iterator<Long> recent = this.offsetsById.keySet().iterator();
+        Long next = recent.hasNext() ? recent.next() : null;
+        for (int i = 0; i < this.snapshot.count(); i++) {
+            long id = this.snapshot.idAt(i);
+            while (next != null && next < id) {
+                ids.add(next);
+                next = recent.hasNext() ? recent.next() : null;
+            }
+            if (next != null && next == id) {
+                next = recent.hasNext() ? recent.next() : null;
+            }
+            ids.add(id);
+        }
+        while (next != null) {
+            ids.add(next);
+            next = recent.hasNext() ? recent.next() : null;
+        }
+        return ids;
+    }
+
+    private Long findIdByNameLocked(String name) {
+        Long id = this.idsByName.get(name);
+        if (id != null || this.snapshot == null) {
+            return id;
+        }
+        int offset = this.findSnapshotOffsetByName(name.getBytes(StandardCharsets.UTF_8));
+        if (offset < 0) {
+            return null;
+        }
+        // La instantánea puede apuntar a un registro ya reemplazado (por ejemplo, un examen renombrado)
+        long snapshotId = this.buffer.getLong(offset + 5);
+        return this.offsetOf(snapshotId) == offset ? snapshotId : null;
+    }
+
+    private int findSnapshotOffsetByName(byte[] name) {
+        int low = 0;
+        int high = this.snapshot.nameCount() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int offset = this.snapshot.nameOffsetAt(mid);
+            int comparison = this.compareName(offset, name);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private int compareName(int offset, byte[] name) {
+        int length = this.buffer.getInt(offset + 13);
+        int start = offset + 17;
+        int common = Math.min(length, name.length);
+        for (int i = 0; i < common; i++) {
+            int comparison = Integer.compare(this.buffer.get(start + i) & 0xff, name[i] & 0xff);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, name.length);
+    }
+
+    private void index(long id, String name, int offset, int recordSize) {
+        int previous = this.offsetOf(id);
+        this.offsetsById.put(id, offset);
+        if (previous >= 0) {
+            this.liveBytes -= 1 + 4 + this.buffer.getInt(previous + 1);
+            String previousName = this.readString(previous + 13);
+            if (previousName != null && !previousName.equals(name)) {
+                this.idsByName.remove(previousName, id);
+            }
+        }
+        if (name != null) {
+            this.idsByName.put(name, id);
+        }
+        this.liveBytes += recordSize;
+        this.sequence = Math.max(this.sequence, id);
+    }
+
+    private void map() throws IOException {
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = this.channel.size();
+        if (size == 0) {
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_CAPACITY);
+            this.buffer.putInt(0, MAGIC);
+            this.buffer.putInt(4, VERSION);
+            this.buffer.putLong(END_OFFSET, HEADER_SIZE);
+        } else {
+            if (size > Integer.MAX_VALUE) {
+                this.channel.close();
+                throw new IOException("El log de exámenes supera el tamaño máximo mapeable: " + this.path);
+            }
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (size < HEADER_SIZE || this.buffer.getInt(0) != MAGIC || this.buffer.getInt(4) != VERSION) {
+                this.channel.close();
+                throw new IOException("El archivo no es un log de exámenes válido: " + this.path);
+            }
+        }
+        this.end = (int) this.buffer.getLong(END_OFFSET);
+    }
+
+    private boolean restoreSnapshot() throws IOException {
+        ExamLogSnapshot restored = ExamLogSnapshot.open(this.snapshotPath);
+        if (restored == null || restored.logEnd() > this.end) {
+            return false;
+        }
+        this.snapshot = restored;
+        this.offsetsById.clear();
+        this.idsByName.clear();
+        this.sequence = restored.sequence();
+        this.liveBytes = restored.liveBytes();
+        this.indexRange((int) restored.logEnd());
+        return true;
+    }
+
+    private void writeSnapshotLocked() throws IOException {
+        this.buffer.force();
+        List<Long> ids = this.liveIds();
+        long[] sortedIds = new long[ids.size()];
+        int[] offsets = new int[ids.size()];
+        List<Integer> named = new ArrayList<>(ids.size());
+        Map<Integer, byte[]> names = new HashMap<>();
+        for (int i = 0; i < sortedIds.length; i++) {
+            sortedIds[i] = ids.get(i);
+            offsets[i] = this.offsetOf(sortedIds[i]);
+            String name = this.readString(offsets[i] + 13);
+            // Si varios exámenes comparten nombre, solo se indexa el que resuelve hoy findIdByName
+            if (name != null && Long.valueOf(sortedIds[i]).equals(this.findIdByNameLocked(name))) {
+                named.add(offsets[i]);
+                names.put(offsets[i], name.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        named.sort((left, right) -> Arrays.compareUnsigned(names.get(left), names.get(right)));
+        int[] offsetsByName = new int[named.size()];
+        for (int i = 0; i < offsetsByName.length; i++) {
+            offsetsByName[i] = named.get(i);
+        }
+        ExamLogSnapshot.write(this.snapshotPath, this.end, this.sequence, this.liveBytes, sortedIds, offsets, offsetsByName);
+        this.snapshot = ExamLogSnapshot.open(this.snapshotPath);
+        this.offsetsById.clear();
+        this.idsByName.clear();
+    }
+
+    private void rebuildIndex() {
+        this.snapshot = null;
+        this.offsetsById.clear();
+        this.idsByName.clear();
+        this.liveBytes = 0;
+        this.indexRange(HEADER_SIZE);
+    }
+
+    private void indexRange(int from) {
+        int position = from;
+        while (position < this.end) {
+            int recordSize = 1 + 4 + this.buffer.getInt(position + 1);
+            long id = this.buffer.getLong(position + 5);
+            this.index(id, this.readString(position + 13), position, recordSize);
+            position += recordSize;
+        }
+    }
+
+    private void ensureCapacity(int recordSize) throws IOException {
+        long required = (long) this.end + recordSize;
+        if (required <= this.buffer.capacity()) {
+            return;
+        }
+        long capacity = this.buffer.capacity();
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IOException("El log de exámenes supera el tamaño máximo mapeable: " + this.path);
+        }
+        this.buffer.force();
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private void compactLocked() throws IOException {
+        Path compacted = this.path.resolveSibling(this.path.getFileName() + ".compact");
+        Files.deleteIfExists(compacted);
+        ExamLog target = ExamLog.open(compacted);
+        try {
+            for (Long id : this.liveIds()) {
+                int offset = this.offsetOf(id);
+                int recordSize = 1 + 4 + this.buffer.getInt(offset + 1);
+                target.ensureCapacity(recordSize);
+                byte[] record = new byte[recordSize];
+                this.buffer.get(offset, record);
+                target.buffer.put(target.end, record);
+                target.index(id, this.readString(offset + 13), target.end, recordSize);
+                target.end += recordSize;
+            }
+            target.buffer.putLong(END_OFFSET, target.end);
+            target.buffer.force();
+        } finally {
+            target.channel.close();
+        }
+        // La instantánea describe offsets del log anterior: se descarta antes de reemplazarlo
+        Files.deleteIfExists(this.snapshotPath);
+        this.snapshot = null;
+        this.buffer.force();
+        this.channel.close();
+        Files.move(compacted, this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.map();
+        this.rebuildIndex();
+    }
+}
@@ -0,0 +1,149 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Instantánea de los índices de un {@link ExamLog}, mapeada en memoria y consultada con búsqueda binaria,
+ * de modo que al reabrir el log no hace falta recorrerlo ni cargar los índices en el heap.
+ * <p>
+ * Formato: {@code [magic:int][version:int][logEnd:long][sequence:long][liveBytes:long][count:int][nameCount:int]},
+ * luego {@code count} ids ordenados ({@code long}), sus offsets en el log ({@code int}) y {@code nameCount}
+ * offsets ordenados por el nombre UTF-8 del registro ({@code int}).
+ */
+final class ExamLogSnapshot {
+    private static final int MAGIC = 0x45584C53;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+
+    private final MappedByteBuffer buffer;
+    private final long logEnd;
+    private final long sequence;
+    private final long liveBytes;
+    private final int count;
+    private final int nameCount;
+
+    private ExamLogSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.logEnd = buffer.getLong(8);
+        this.sequence = buffer.getLong(16);
+        this.liveBytes = buffer.getLong(24);
+        this.count = buffer.getInt(32);
+        this.nameCount = buffer.getInt(36);
+    }
+
+    static Path pathOf(Path log) {
+        return log.resolveSibling(log.getFileName() + ".snapshot");
+    }
+
+    static ExamLogSnapshot open(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                return null;
+            }
+            ExamLogSnapshot snapshot = new ExamLogSnapshot(buffer);
+            if (HEADER_SIZE + 12L * snapshot.count + 4L * snapshot.nameCount != size) {
+                return null;
+            }
+            return snapshot;
+        }
+    }
+
+    static void write(Path file, long logEnd, long sequence, long liveBytes,
+                      long[] ids, int[] offsets, int[] offsetsByName) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 12 * ids.length + 4 * offsetsByName.length);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(logEnd).putLong(sequence).putLong(liveBytes)
+                .putInt(ids.length).putInt(offsetsByName.length);
+        buffer.asLongBuffer().put(ids);
+        buffer.position(buffer.position() + 8 * ids.length);
+        buffer.asIntBuffer().put(offsets).put(offsetsByName);
+        buffer.rewind();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    long logEnd() {
+        return this.logEnd;
+    }
+
+    long sequence() {
+        return this.sequence;
+    }
+
+    long liveBytes() {
+        return this.liveBytes;
+    }
+
+    int count() {
+        return this.count;
+    }
+
+    int nameCount() {
+        return this.nameCount;
+    }
+
+    long idAt(int index) {
+        return this.buffer.getLong(HEADER_SIZE + 8 * index);
+    }
+
+    int offsetAt(int index) {
+        return this.buffer.getInt(HEADER_SIZE + 8 * this.count + 4 * index);
+    }
+
+    int nameOffsetAt(int index) {
+        return this.buffer.getInt(HEADER_SIZE + 12 * this.count + 4 * index);
+    }
+
+    int indexAfter(long id) {
+        int low = 0;
+        int high = this.count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.idAt(mid) <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    int offsetOf(long id) {
+        int low = 0;
+        int high = this.count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = this.idAt(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return this.offsetAt(mid);
+            }
+        }
+        return -1;
+    }
+}
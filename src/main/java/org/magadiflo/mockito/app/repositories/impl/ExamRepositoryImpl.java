@@ -1,14 +1,33 @@
 package org.magadiflo.mockito.app.repositories.impl;
 
+import org.magadiflo.mockito.app.concurrent.LongHashMap;
 import org.magadiflo.mockito.app.models.Exam;
 import org.magadiflo.mockito.app.repositories.IExamRepository;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
+/**
+ * Almacén en memoria seguro para múltiples hilos. Los exámenes se guardan ordenados por id en un
+ * {@link ConcurrentSkipListMap}, con un índice secundario por nombre, y los ids nuevos salen de un
+ * {@link AtomicLong}. Las búsquedas por id van a un {@link LongHashMap}, sin boxing ni saltos entre nodos;
+ * ninguna lectura toma bloqueos y solo se serializan las escrituras de ids que caen en el mismo segmento del índice.
+ */
 public class ExamRepositoryImpl implements IExamRepository {
-    @Override
-    public List<Exam> findAll() {
-        return List.of(
+    private final ConcurrentSkipListMap<Long, Exam> examsById = new ConcurrentSkipListMap<>();
+    private final LongHashMap<Exam> examsByIdIndex = new LongHashMap<>();
+    private final Map<String, Exam> examsByName = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ExamRepositoryImpl() {
+        this(List.of(
                 new Exam(1L, "Aritmética"),
                 new Exam(2L, "Geometría"),
                 new Exam(3L, "Álgebra"),
@@ -16,11 +35,124 @@ public class ExamRepositoryImpl implements IExamRepository {
                 new Exam(5L, "Programación"),
                 new Exam(6L, "Bases de Datos"),
                 new Exam(7L, "Estructura de datos"),
-                new Exam(8L, "Java 17"));
+                new Exam(8L, "Java 17")));
+    }
+
+    public ExamRepositoryImpl(List<Exam> exams) {
+        for (Exam exam : exams) {
+            this.store(exam);
+        }
+    }
+
+    @Override
+    public List<Exam> findAll() {
+        return new ArrayList<>(this.examsById.values());
+    }
+
+    @Override
+    public Stream<Exam> streamAll() {
+        return this.examsById.values().stream();
+    }
+
+    @Override
+    public List<Exam> findPage(long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+        List<Exam> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Exam exam : this.examsById.tailMap(afterId, false).values()) {
+            page.add(exam);
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public Optional<Exam> findByName(String name) {
+        return Optional.ofNullable(this.findByNameOrNull(name));
+    }
+
+    @Override
+    public List<Exam> findByNames(Collection<String> names) {
+        List<Exam> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            Exam exam = this.findByNameOrNull(name);
+            if (exam != null) {
+                result.add(exam);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Exam> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("El id del examen no puede ser nulo");
+        }
+        return Optional.ofNullable(this.examsByIdIndex.get(id));
+    }
+
+    @Override
+    public List<Exam> findByIds(Collection<Long> ids) {
+        List<Exam> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Exam exam = id == null ? null : this.examsByIdIndex.get(id);
+            if (exam != null) {
+                result.add(exam);
+            }
+        }
+        return result;
     }
 
     @Override
     public Exam saveExam(Exam exam) {
-        return null;
+        return this.store(exam);
+    }
+
+    @Override
+    public List<Exam> saveExams(List<Exam> exams) {
+        List<Exam> result = new ArrayList<>(exams.size());
+        for (Exam exam : exams) {
+            result.add(this.store(exam));
+        }
+        return result;
+    }
+
+    private Exam store(Exam exam) {
+        if (exam.getId() == null) {
+            exam.setId(this.sequence.incrementAndGet());
+        } else {
+            this.sequence.accumulateAndGet(exam.getId(), Math::max);
+        }
+        long id = exam.getId();
+        // compute solo bloquea el segmento del índice que contiene este id: dos guardados del mismo examen se
+        // ordenan igual en los tres mapas, y los de exámenes distintos no se esperan entre sí
+        this.examsByIdIndex.compute(id, previous -> {
+            this.examsById.put(id, exam);
+            if (previous != null && previous.getName() != null && !previous.getName().equals(exam.getName())) {
+                this.examsByName.remove(previous.getName(), previous);
+            }
+            if (exam.getName() != null) {
+                this.examsByName.put(exam.getName(), exam);
+            }
+            return exam;
+        });
+        return exam;
+    }
+
+    private Exam findByNameOrNull(String name) {
+        if (name == null) {
+            return null;
+        }
+        Exam exam = this.examsByName.get(name);
+        if (exam == null) {
+            return null;
+        }
+        // El índice por id se publica después del de nombres: si no coinciden se resuelve con la versión vigente
+        // del mismo id, que se descarta solo si ya no tiene ese nombre (un examen renombrado)
+        Exam current = this.examsByIdIndex.get(exam.getId());
+        return current != null && name.equals(current.getName()) ? current : null;
     }
 }
@@ -0,0 +1,73 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.exceptions.InjectedFaultException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latencia y errores artificiales para los repositorios sintéticos. Cada llamada espera {@code latency} más un
+ * extra uniforme en {@code [0, jitter)} y falla con probabilidad {@code errorRate} lanzando
+ * {@link InjectedFaultException}. Solo se cuentan los fallos inyectados; no se guarda nada por invocación.
+ * <p>
+ * {@link #none()} no agrega latencia ni errores y su comprobación se reduce a leer un campo final.
+ */
+public final class FaultInjector {
+    private static final FaultInjector NONE = new FaultInjector(Duration.ZERO, Duration.ZERO, 0.0);
+
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double errorRate;
+    private final boolean active;
+    private final LongAdder injectedFaults = new LongAdder();
+
+    public FaultInjector(Duration latency, Duration jitter, double errorRate) {
+        if (latency.isNegative() || jitter.isNegative()) {
+            throw new IllegalArgumentException("La latencia y su variación no pueden ser negativas");
+        }
+        if (!(errorRate >= 0.0 && errorRate <= 1.0)) {
+            throw new IllegalArgumentException("La tasa de error debe estar entre 0 y 1");
+        }
+        this.latencyNanos = latency.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        this.errorRate = errorRate;
+        this.active = this.latencyNanos > 0 || this.jitterNanos > 0 || errorRate > 0.0;
+    }
+
+    public static FaultInjector none() {
+        return NONE;
+    }
+
+    public static FaultInjector latency(Duration latency) {
+        return new FaultInjector(latency, Duration.ZERO, 0.0);
+    }
+
+    public static FaultInjector errors(double errorRate) {
+        return new FaultInjector(Duration.ZERO, Duration.ZERO, errorRate);
+    }
+
+    /**
+     * Aplica la latencia y, según la tasa de error, falla la llamada {@code operation}.
+     */
+    public void beforeCall(String operation) {
+        if (!this.active) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = this.jitterNanos > 0 ? this.latencyNanos + random.nextLong(this.jitterNanos) : this.latencyNanos;
+        if (delay > 0) {
+            // parkNanos libera el hilo de plataforma cuando quien llama es un hilo virtual
+            LockSupport.parkNanos(delay);
+        }
+        if (this.errorRate > 0.0 && random.nextDouble() < this.errorRate) {
+            this.injectedFaults.increment();
+            throw new InjectedFaultException(operation);
+        }
+    }
+
+    public long getInjectedFaultCount() {
+        return this.injectedFaults.sum();
+    }
+}
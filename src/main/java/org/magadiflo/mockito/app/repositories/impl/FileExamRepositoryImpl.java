@@ -0,0 +1,109 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.repositories.IExamRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link IExamRepository} persistido en un {@link ExamLog}. Al guardar un examen también se guardan sus
+ * preguntas en el mismo registro, que luego lee {@link FileQuestionRepositoryImpl}. Los exámenes leídos de aquí no
+ * traen preguntas; si se guardan así (por ejemplo, tras renombrarlos), el log conserva las que ya tenían.
+ */
+public class FileExamRepositoryImpl implements IExamRepository {
+    private final ExamLog log;
+
+    public FileExamRepositoryImpl(ExamLog log) {
+        this.log = log;
+    }
+
+    @Override
+    public List<Exam> findAll() {
+        List<Long> ids = this.log.ids();
+        List<Exam> exams = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Exam exam = this.log.readExam(id);
+            if (exam != null) {
+                exams.add(exam);
+            }
+        }
+        return exams;
+    }
+
+    @Override
+    public Stream<Exam> streamAll() {
+        return this.log.ids().stream()
+                .map(this.log::readExam)
+                .filter(Objects::nonNull);
+    }
+
+    @Override
+    public List<Exam> findPage(long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+        List<Long> ids = this.log.idsAfter(afterId, limit);
+        List<Exam> exams = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Exam exam = this.log.readExam(id);
+            if (exam != null) {
+                exams.add(exam);
+            }
+        }
+        return exams;
+    }
+
+    @Override
+    public Optional<Exam> findByName(String name) {
+        Long id = name == null ? null : this.log.findIdByName(name);
+        return id == null ? Optional.empty() : Optional.ofNullable(this.log.readExam(id));
+    }
+
+    @Override
+    public List<Exam> findByNames(Collection<String> names) {
+        List<Exam> exams = new ArrayList<>(names.size());
+        for (String name : names) {
+            this.findByName(name).ifPresent(exams::add);
+        }
+        return exams;
+    }
+
+    @Override
+    public Optional<Exam> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("El id del examen no puede ser nulo");
+        }
+        return Optional.ofNullable(this.log.readExam(id));
+    }
+
+    @Override
+    public List<Exam> findByIds(Collection<Long> ids) {
+        List<Exam> exams = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Exam exam = id == null ? null : this.log.readExam(id);
+            if (exam != null) {
+                exams.add(exam);
+            }
+        }
+        return exams;
+    }
+
+    @Override
+    public Exam saveExam(Exam exam) {
+        return this.log.append(exam);
+    }
+
+    @Override
+    public List<Exam> saveExams(List<Exam> exams) {
+        List<Exam> examsDB = new ArrayList<>(exams.size());
+        for (Exam exam : exams) {
+            examsDB.add(this.log.append(exam));
+        }
+        return examsDB;
+    }
+}
@@ -0,0 +1,72 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.models.Questions;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link IQuestionRepository} que lee las preguntas desde el {@link ExamLog} compartido con
+ * {@link FileExamRepositoryImpl}.
+ */
+public class FileQuestionRepositoryImpl implements IQuestionRepository {
+    private final ExamLog log;
+
+    public FileQuestionRepositoryImpl(ExamLog log) {
+        this.log = log;
+    }
+
+    @Override
+    public List<String> findQuestionsByExamId(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("El id del examen es obligatorio");
+        }
+        return this.log.readQuestions(id);
+    }
+
+    @Override
+    public Map<Long, List<String>> findQuestionsByExamIds(Collection<Long> ids) {
+        Map<Long, List<String>> questionsByExamId = new HashMap<>();
+        for (Long id : ids) {
+            questionsByExamId.put(id, this.findQuestionsByExamId(id));
+        }
+        return questionsByExamId;
+    }
+
+    @Override
+    public void saveQuestions(List<String> questions) {
+        // saveQuestions no indica a qué examen pertenecen las preguntas; se persisten junto al examen
+        // en el mismo registro del log cuando FileExamRepositoryImpl guarda el examen.
+    }
+
+    @Override
+    public void saveAllQuestions(Map<Long, List<String>> questionsByExamId) {
+        if (!this.log.replaceQuestions(questionsByExamId)) {
+            throw new NoSuchElementException(String.format("¡No existe alguno de los exams con id %s!", questionsByExamId.keySet()));
+        }
+    }
+
+    @Override
+    public void saveQuestions(long examId, List<String> questions) {
+        this.update(examId, current -> Questions.immutable(questions));
+    }
+
+    @Override
+    public void updateQuestions(long examId, List<QuestionChange> changes) {
+        // El formato del log guarda el examen completo en cada registro, así que un cambio reescribe la lista;
+        // la compactación recupera el espacio del registro anterior.
+        this.update(examId, current -> Questions.apply(current, changes));
+    }
+
+    private void update(long examId, UnaryOperator<List<String>> update) {
+        if (!this.log.updateQuestions(examId, update)) {
+            throw new NoSuchElementException(String.format("¡No existe el exam con id %d!", examId));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.metrics.IMetricsRegistry;
+import org.magadiflo.mockito.app.metrics.Operation;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.repositories.IExamRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Decorador de {@link IExamRepository} que registra latencia y errores de cada operación.
+ * En {@link #streamAll()} solo se mide la apertura del stream, no su consumo.
+ */
+public class InstrumentedExamRepositoryImpl implements IExamRepository {
+    private final IExamRepository examRepository;
+    private final Operation findAll;
+    private final Operation streamAll;
+    private final Operation findPage;
+    private final Operation findByName;
+    private final Operation findByNames;
+    private final Operation findById;
+    private final Operation findByIds;
+    private final Operation saveExam;
+    private final Operation saveExams;
+
+    public InstrumentedExamRepositoryImpl(IExamRepository examRepository) {
+        this(examRepository, IMetricsRegistry.noop());
+    }
+
+    public InstrumentedExamRepositoryImpl(IExamRepository examRepository, IMetricsRegistry registry) {
+        this.examRepository = examRepository;
+        this.findAll = new Operation(registry, "exam.repository.findAll");
+        this.streamAll = new Operation(registry, "exam.repository.streamAll");
+        this.findPage = new Operation(registry, "exam.repository.findPage");
+        this.findByName = new Operation(registry, "exam.repository.findByName");
+        this.findByNames = new Operation(registry, "exam.repository.findByNames");
+        this.findById = new Operation(registry, "exam.repository.findById");
+        this.findByIds = new Operation(registry, "exam.repository.findByIds");
+        this.saveExam = new Operation(registry, "exam.repository.saveExam");
+        this.saveExams = new Operation(registry, "exam.repository.saveExams");
+    }
+
+    @Override
+    public List<Exam> findAll() {
+        long start = this.findAll.start();
+        try {
+            return this.examRepository.findAll();
+        } catch (RuntimeException e) {
+            this.findAll.failed();
+            throw e;
+        } finally {
+            this.findAll.stop(start);
+        }
+    }
+
+    @Override
+    public Stream<Exam> streamAll() {
+        long start = this.streamAll.start();
+        try {
+            return this.examRepository.streamAll();
+        } catch (RuntimeException e) {
+            this.streamAll.failed();
+            throw e;
+        } finally {
+            this.streamAll.stop(start);
+        }
+    }
+
+    @Override
+    public List<Exam> findPage(long afterId, int limit) {
+        long start = this.findPage.start();
+        try {
+            return this.examRepository.findPage(afterId, limit);
+        } catch (RuntimeException e) {
+            this.findPage.failed();
+            throw e;
+        } finally {
+            this.findPage.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<Exam> findByName(String name) {
+        long start = this.findByName.start();
+        try {
+            return this.examRepository.findByName(name);
+        } catch (RuntimeException e) {
+            this.findByName.failed();
+            throw e;
+        } finally {
+            this.findByName.stop(start);
+        }
+    }
+
+    @Override
+    public List<Exam> findByNames(Collection<String> names) {
+        long start = this.findByNames.start();
+        try {
+            return this.examRepository.findByNames(names);
+        } catch (RuntimeException e) {
+            this.findByNames.failed();
+            throw e;
+        } finally {
+            this.findByNames.stop(start);
+        }
+    }
+
+    @Override
+    public Optional<Exam> findById(Long id) {
+        long start = this.findById.start();
+        try {
+            return this.examRepository.findById(id);
+        } catch (RuntimeException e) {
+            this.findById.failed();
+            throw e;
+        } finally {
+            this.findById.stop(start);
+        }
+    }
+
+    @Override
+    public List<Exam> findByIds(Collection<Long> ids) {
+        long start = this.findByIds.start();
+        try {
+            return this.examRepository.findByIds(ids);
+        } catch (RuntimeException e) {
+            this.findByIds.failed();
+            throw e;
+        } finally {
+            this.findByIds.stop(start);
+        }
+    }
+
+    @Override
+    public Exam saveExam(Exam exam) {
+        long start = this.saveExam.start();
+        try {
+            return this.examRepository.saveExam(exam);
+        } catch (RuntimeException e) {
+            this.saveExam.failed();
+            throw e;
+        } finally {
+            this.saveExam.stop(start);
+        }
+    }
+
+    @Override
+    public List<Exam> saveExams(List<Exam> exams) {
+        long start = this.saveExams.start();
+        try {
+            return this.examRepository.saveExams(exams);
+        } catch (RuntimeException e) {
+            this.saveExams.failed();
+            throw e;
+        } finally {
+            this.saveExams.stop(start);
+        }
+    }
+}
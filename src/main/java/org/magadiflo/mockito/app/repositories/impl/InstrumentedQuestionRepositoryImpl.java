@@ -0,0 +1,123 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.metrics.IDistribution;
+import org.magadiflo.mockito.app.metrics.IMetricsRegistry;
+import org.magadiflo.mockito.app.metrics.Operation;
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorador de {@link IQuestionRepository} que registra latencia y errores de cada operación y la cantidad
+ * de preguntas que devuelve {@link #findQuestionsByExamId(Long)}.
+ */
+public class InstrumentedQuestionRepositoryImpl implements IQuestionRepository {
+    private final IQuestionRepository questionRepository;
+    private final Operation findQuestionsByExamId;
+    private final Operation findQuestionsByExamIds;
+    private final Operation saveQuestions;
+    private final Operation saveAllQuestions;
+    private final Operation saveExamQuestions;
+    private final Operation updateQuestions;
+    private final IDistribution questionCount;
+
+    public InstrumentedQuestionRepositoryImpl(IQuestionRepository questionRepository) {
+        this(questionRepository, IMetricsRegistry.noop());
+    }
+
+    public InstrumentedQuestionRepositoryImpl(IQuestionRepository questionRepository, IMetricsRegistry registry) {
+        this.questionRepository = questionRepository;
+        this.findQuestionsByExamId = new Operation(registry, "question.repository.findQuestionsByExamId");
+        this.findQuestionsByExamIds = new Operation(registry, "question.repository.findQuestionsByExamIds");
+        this.saveQuestions = new Operation(registry, "question.repository.saveQuestions");
+        this.saveAllQuestions = new Operation(registry, "question.repository.saveAllQuestions");
+        this.saveExamQuestions = new Operation(registry, "question.repository.saveExamQuestions");
+        this.updateQuestions = new Operation(registry, "question.repository.updateQuestions");
+        this.questionCount = registry.distribution("question.repository.questions");
+    }
+
+    @Override
+    public List<String> findQuestionsByExamId(Long id) {
+        long start = this.findQuestionsByExamId.start();
+        try {
+            List<String> result = this.questionRepository.findQuestionsByExamId(id);
+            if (result != null) {
+                this.questionCount.record(result.size());
+            }
+            return result;
+        } catch (RuntimeException e) {
+            this.findQuestionsByExamId.failed();
+            throw e;
+        } finally {
+            this.findQuestionsByExamId.stop(start);
+        }
+    }
+
+    @Override
+    public Map<Long, List<String>> findQuestionsByExamIds(Collection<Long> ids) {
+        long start = this.findQuestionsByExamIds.start();
+        try {
+            return this.questionRepository.findQuestionsByExamIds(ids);
+        } catch (RuntimeException e) {
+            this.findQuestionsByExamIds.failed();
+            throw e;
+        } finally {
+            this.findQuestionsByExamIds.stop(start);
+        }
+    }
+
+    @Override
+    public void saveQuestions(List<String> questions) {
+        long start = this.saveQuestions.start();
+        try {
+            this.questionRepository.saveQuestions(questions);
+        } catch (RuntimeException e) {
+            this.saveQuestions.failed();
+            throw e;
+        } finally {
+            this.saveQuestions.stop(start);
+        }
+    }
+
+    @Override
+    public void saveAllQuestions(Map<Long, List<String>> questionsByExamId) {
+        long start = this.saveAllQuestions.start();
+        try {
+            this.questionRepository.saveAllQuestions(questionsByExamId);
+        } catch (RuntimeException e) {
+            this.saveAllQuestions.failed();
+            throw e;
+        } finally {
+            this.saveAllQuestions.stop(start);
+        }
+    }
+
+    @Override
+    public void saveQuestions(long examId, List<String> questions) {
+        long start = this.saveExamQuestions.start();
+        try {
+            this.questionRepository.saveQuestions(examId, questions);
+        } catch (RuntimeException e) {
+            this.saveExamQuestions.failed();
+            throw e;
+        } finally {
+            this.saveExamQuestions.stop(start);
+        }
+    }
+
+    @Override
+    public void updateQuestions(long examId, List<QuestionChange> changes) {
+        long start = this.updateQuestions.start();
+        try {
+            this.questionRepository.updateQuestions(examId, changes);
+        } catch (RuntimeException e) {
+            this.updateQuestions.failed();
+            throw e;
+        } finally {
+            this.updateQuestions.stop(start);
+        }
+    }
+}
@@ -1,18 +1,57 @@
 package org.magadiflo.mockito.app.repositories.impl;
 
+import org.magadiflo.mockito.app.concurrent.LongHashMap;
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.models.Questions;
 import org.magadiflo.mockito.app.repositories.IQuestionRepository;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class QuestionRepositoryImpl implements IQuestionRepository {
+    private static final List<String> QUESTIONS = List.of("Pregunta 1 (real)", "Pregunta 2 (real)", "Pregunta 3 (real)",
+            "Pregunta 4 (real)", "Pregunta 5 (real)");
+
+    private final LongHashMap<List<String>> questionsByExamId = new LongHashMap<>();
+
     @Override
     public List<String> findQuestionsByExamId(Long id) {
-        return List.of("Pregunta 1 (real)", "Pregunta 2 (real)", "Pregunta 3 (real)",
-                "Pregunta 4 (real)", "Pregunta 5 (real)");
+        if (id == null) {
+            throw new IllegalArgumentException("El id del examen es obligatorio");
+        }
+        List<String> questions = this.questionsByExamId.get(id);
+        return questions == null ? QUESTIONS : questions;
+    }
+
+    @Override
+    public Map<Long, List<String>> findQuestionsByExamIds(Collection<Long> ids) {
+        Map<Long, List<String>> questionsByExamId = new HashMap<>();
+        for (Long id : ids) {
+            questionsByExamId.put(id, this.findQuestionsByExamId(id));
+        }
+        return questionsByExamId;
     }
 
     @Override
     public void saveQuestions(List<String> questions) {
 
     }
+
+    @Override
+    public void saveAllQuestions(Map<Long, List<String>> questionsByExamId) {
+        questionsByExamId.forEach(this::saveQuestions);
+    }
+
+    @Override
+    public void saveQuestions(long examId, List<String> questions) {
+        this.questionsByExamId.put(examId, Questions.immutable(questions));
+    }
+
+    @Override
+    public void updateQuestions(long examId, List<QuestionChange> changes) {
+        // compute lee y reemplaza bajo el bloqueo del segmento del id, así dos cambios concurrentes no se pisan
+        this.questionsByExamId.compute(examId, current -> Questions.apply(current == null ? QUESTIONS : current, changes));
+    }
 }
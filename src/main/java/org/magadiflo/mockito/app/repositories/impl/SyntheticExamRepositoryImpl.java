@@ -0,0 +1,258 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.repositories.IExamRepository;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio de exámenes para pruebas de carga: un catálogo sintético de {@code size} exámenes que no ocupa memoria.
+ * El examen con id {@code i + 1} se llama {@code "Examen i"} y se genera al pedirlo, siempre igual, como los que
+ * arman las pruebas de rendimiento con {@link ExamRepositoryImpl}.
+ * <p>
+ * Lo que se guarda queda por encima del catálogo sintético: un id guardado reemplaza al generado y los ids nuevos
+ * continúan después de {@code size}. Cada llamada pasa antes por el {@link FaultInjector}. No se registran las
+ * invocaciones, así que la memoria solo crece con lo que efectivamente se guarda.
+ */
+public class SyntheticExamRepositoryImpl implements IExamRepository {
+    private static final String NAME_PREFIX = "Examen ";
+
+    private final long size;
+    private final FaultInjector faults;
+    private final ConcurrentSkipListMap<Long, Exam> savedById = new ConcurrentSkipListMap<>();
+    private final Map<String, Exam> savedByName = new ConcurrentHashMap<>();
+    private final AtomicLong sequence;
+
+    public SyntheticExamRepositoryImpl(long size) {
+        this(size, FaultInjector.none());
+    }
+
+    public SyntheticExamRepositoryImpl(long size, FaultInjector faults) {
+        if (size < 0 || size >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("El tamaño del catálogo sintético debe estar entre 0 y " + (Integer.MAX_VALUE - 1));
+        }
+        this.size = size;
+        this.faults = faults;
+        this.sequence = new AtomicLong(size);
+    }
+
+    /**
+     * Nombre del examen sintético con id {@code id}.
+     */
+    public static String nameOf(long id) {
+        return NAME_PREFIX + (id - 1);
+    }
+
+    @Override
+    public List<Exam> findAll() {
+        this.faults.beforeCall("findAll");
+        return new Snapshot(this.size, this.savedById);
+    }
+
+    @Override
+    public Stream<Exam> streamAll() {
+        this.faults.beforeCall("streamAll");
+        return Stream.of(
+                this.savedById.headMap(1L, false).values().stream(),
+                LongStream.rangeClosed(1, this.size).mapToObj(this::examAt),
+                this.savedById.tailMap(this.size, false).values().stream()).flatMap(exams -> exams);
+    }
+
+    @Override
+    public List<Exam> findPage(long afterId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+        this.faults.beforeCall("findPage");
+        List<Exam> page = new ArrayList<>(Math.min(limit, 1024));
+        if (afterId < 0) {
+            for (Exam exam : this.savedById.subMap(afterId, false, 1L, false).values()) {
+                page.add(exam);
+                if (page.size() == limit) {
+                    return page;
+                }
+            }
+        }
+        for (long id = Math.max(afterId, 0) + 1; id <= this.size && page.size() < limit; id++) {
+            page.add(this.examAt(id));
+        }
+        if (page.size() < limit) {
+            for (Exam exam : this.savedById.tailMap(Math.max(afterId, this.size), false).values()) {
+                page.add(exam);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public Optional<Exam> findByName(String name) {
+        this.faults.beforeCall("findByName");
+        return Optional.ofNullable(this.findByNameOrNull(name));
+    }
+
+    @Override
+    public List<Exam> findByNames(Collection<String> names) {
+        this.faults.beforeCall("findByNames");
+        List<Exam> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            Exam exam = this.findByNameOrNull(name);
+            if (exam != null) {
+                result.add(exam);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<Exam> findById(Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("El id del examen no puede ser nulo");
+        }
+        this.faults.beforeCall("findById");
+        return Optional.ofNullable(this.findByIdOrNull(id));
+    }
+
+    @Override
+    public List<Exam> findByIds(Collection<Long> ids) {
+        this.faults.beforeCall("findByIds");
+        List<Exam> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Exam exam = id == null ? null : this.findByIdOrNull(id);
+            if (exam != null) {
+                result.add(exam);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Exam saveExam(Exam exam) {
+        this.faults.beforeCall("saveExam");
+        return this.store(exam);
+    }
+
+    @Override
+    public List<Exam> saveExams(List<Exam> exams) {
+        this.faults.beforeCall("saveExams");
+        List<Exam> result = new ArrayList<>(exams.size());
+        for (Exam exam : exams) {
+            result.add(this.store(exam));
+        }
+        return result;
+    }
+
+    public long getSyntheticSize() {
+        return this.size;
+    }
+
+    private Exam store(Exam exam) {
+        if (exam.getId() == null) {
+            exam.setId(this.sequence.incrementAndGet());
+        } else {
+            this.sequence.accumulateAndGet(exam.getId(), Math::max);
+        }
+        Exam previous = this.savedById.put(exam.getId(), exam);
+        if (previous != null && previous.getName() != null && !previous.getName().equals(exam.getName())) {
+            this.savedByName.remove(previous.getName(), previous);
+        }
+        if (exam.getName() != null) {
+            this.savedByName.put(exam.getName(), exam);
+        }
+        return exam;
+    }
+
+    private Exam findByIdOrNull(long id) {
+        Exam saved = this.savedById.get(id);
+        if (saved != null) {
+            return saved;
+        }
+        return id >= 1 && id <= this.size ? new Exam(id, nameOf(id)) : null;
+    }
+
+    private Exam examAt(long id) {
+        Exam saved = this.savedById.isEmpty() ? null : this.savedById.get(id);
+        return saved != null ? saved : new Exam(id, nameOf(id));
+    }
+
+    private Exam findByNameOrNull(String name) {
+        if (name == null) {
+            return null;
+        }
+        Exam saved = this.savedByName.get(name);
+        if (saved != null && name.equals(saved.getName()) && this.savedById.get(saved.getId()) == saved) {
+            return saved;
+        }
+        long id = syntheticIdOf(name);
+        // Un examen sintético que se volvió a guardar solo se encuentra por su nombre actual
+        if (id < 1 || id > this.size || this.savedById.containsKey(id)) {
+            return null;
+        }
+        return new Exam(id, name);
+    }
+
+    private static long syntheticIdOf(String name) {
+        if (!name.startsWith(NAME_PREFIX) || name.length() == NAME_PREFIX.length() || name.length() > NAME_PREFIX.length() + 10) {
+            return -1;
+        }
+        long index = 0;
+        for (int i = NAME_PREFIX.length(); i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9' || (c == '0' && i == NAME_PREFIX.length() && name.length() > i + 1)) {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index + 1;
+    }
+
+    /**
+     * Vista de todo el catálogo ordenada por id al momento de pedirla: los exámenes sintéticos se generan al leerlos y
+     * solo se copian los guardados con ids fuera de {@code [1, size]}.
+     */
+    private static final class Snapshot extends AbstractList<Exam> implements RandomAccess {
+        private final List<Exam> before;
+        private final int syntheticSize;
+        private final ConcurrentSkipListMap<Long, Exam> savedById;
+        private final List<Exam> after;
+
+        private Snapshot(long syntheticSize, ConcurrentSkipListMap<Long, Exam> savedById) {
+            this.before = new ArrayList<>(savedById.headMap(1L, false).values());
+            this.syntheticSize = (int) syntheticSize;
+            this.savedById = savedById;
+            this.after = new ArrayList<>(savedById.tailMap(syntheticSize, false).values());
+        }
+
+        @Override
+        public Exam get(int index) {
+            if (index < this.before.size()) {
+                return this.before.get(index);
+            }
+            int syntheticIndex = index - this.before.size();
+            if (syntheticIndex < this.syntheticSize) {
+                long id = syntheticIndex + 1L;
+                Exam saved = this.savedById.isEmpty() ? null : this.savedById.get(id);
+                return saved != null ? saved : new Exam(id, nameOf(id));
+            }
+            return this.after.get(syntheticIndex - this.syntheticSize);
+        }
+
+        @Override
+        public int size() {
+            return this.before.size() + this.syntheticSize + this.after.size();
+        }
+    }
+}
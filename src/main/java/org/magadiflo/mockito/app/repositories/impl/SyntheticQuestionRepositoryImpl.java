@@ -0,0 +1,111 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.concurrent.LongHashMap;
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.models.Questions;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Repositorio de preguntas para pruebas de carga, pareja de {@link SyntheticExamRepositoryImpl}. Cada examen tiene
+ * {@code questionsPerExam} preguntas {@code "Pregunta k del examen id"}, generadas al leerlas y siempre iguales.
+ * <p>
+ * Las escrituras de un examen concreto reemplazan sus preguntas sintéticas; las listas sin examen se descartan,
+ * como en {@link QuestionRepositoryImpl}. Cada llamada pasa antes por el {@link FaultInjector} y no se registran
+ * las invocaciones.
+ */
+public class SyntheticQuestionRepositoryImpl implements IQuestionRepository {
+    private final int questionsPerExam;
+    private final FaultInjector faults;
+    private final LongHashMap<List<String>> savedByExamId = new LongHashMap<>();
+
+    public SyntheticQuestionRepositoryImpl(int questionsPerExam) {
+        this(questionsPerExam, FaultInjector.none());
+    }
+
+    public SyntheticQuestionRepositoryImpl(int questionsPerExam, FaultInjector faults) {
+        if (questionsPerExam < 0) {
+            throw new IllegalArgumentException("La cantidad de preguntas por examen no puede ser negativa");
+        }
+        this.questionsPerExam = questionsPerExam;
+        this.faults = faults;
+    }
+
+    @Override
+    public List<String> findQuestionsByExamId(Long id) {
+        this.faults.beforeCall("findQuestionsByExamId");
+        return id == null ? List.of() : this.questionsOf(id);
+    }
+
+    @Override
+    public Map<Long, List<String>> findQuestionsByExamIds(Collection<Long> ids) {
+        this.faults.beforeCall("findQuestionsByExamIds");
+        Map<Long, List<String>> questionsByExamId = new HashMap<>();
+        for (Long id : ids) {
+            questionsByExamId.put(id, id == null ? List.of() : this.questionsOf(id));
+        }
+        return questionsByExamId;
+    }
+
+    @Override
+    public void saveQuestions(List<String> questions) {
+        this.faults.beforeCall("saveQuestions");
+    }
+
+    @Override
+    public void saveAllQuestions(Map<Long, List<String>> questionsByExamId) {
+        this.faults.beforeCall("saveAllQuestions");
+        questionsByExamId.forEach((examId, questions) -> this.savedByExamId.put(examId, Questions.immutable(questions)));
+    }
+
+    @Override
+    public void saveQuestions(long examId, List<String> questions) {
+        this.faults.beforeCall("saveExamQuestions");
+        this.savedByExamId.put(examId, Questions.immutable(questions));
+    }
+
+    @Override
+    public void updateQuestions(long examId, List<QuestionChange> changes) {
+        this.faults.beforeCall("updateQuestions");
+        // Igual que en QuestionRepositoryImpl: leer y reemplazar bajo el bloqueo del segmento del id
+        this.savedByExamId.compute(examId, saved ->
+                Questions.apply(saved != null ? saved : new SyntheticQuestions(examId, this.questionsPerExam), changes));
+    }
+
+    private List<String> questionsOf(long examId) {
+        List<String> saved = this.savedByExamId.get(examId);
+        return saved != null ? saved : new SyntheticQuestions(examId, this.questionsPerExam);
+    }
+
+    /**
+     * Lista inmutable que arma cada pregunta al leerla; crearla cuesta un objeto sin importar su tamaño.
+     */
+    private static final class SyntheticQuestions extends AbstractList<String> implements RandomAccess {
+        private final long examId;
+        private final int size;
+
+        private SyntheticQuestions(long examId, int size) {
+            this.examId = examId;
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fuera de rango para " + this.size + " preguntas");
+            }
+            return "Pregunta " + (index + 1) + " del examen " + this.examId;
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+}
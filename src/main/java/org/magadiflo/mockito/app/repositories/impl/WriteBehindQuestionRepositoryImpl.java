@@ -0,0 +1,475 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.models.Questions;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Decorador de {@link IQuestionRepository} que guarda las preguntas en segundo plano. Las escrituras entran en un
+ * buffer circular acotado y un hilo las vuelca en grupos de hasta {@code maxBatchSize} escrituras, o cuando pasa
+ * {@code flushInterval} desde que llegó la primera del grupo.
+ * <p>
+ * Con {@link Durability#ACK_ON_BUFFER} la escritura vuelve al quedar en el buffer; con {@link Durability#ACK_ON_FLUSH}
+ * espera a que su grupo se haya guardado y recibe su error si falló. Si el buffer está lleno, quien escribe espera.
+ * Las escrituras de un examen concreto ({@link #saveQuestions(long, List)}, {@link #updateQuestions(long, List)})
+ * pasan por el mismo buffer y se aplican en orden dentro del grupo; los guardados consecutivos de exámenes se vuelcan
+ * juntos con {@link IQuestionRepository#saveAllQuestions(Map)}. Cada escritura guarda una copia de las listas que
+ * recibe, así que quien llama puede seguir modificándolas. Mientras un examen tenga escrituras sin volcar,
+ * las lecturas de sus preguntas devuelven la lista que resulta de aplicarlas, sin esperar al volcado; si alguna
+ * falla, las lecturas vuelven a ver lo guardado cuando se vuelca la última pendiente de ese examen.
+ * <p>
+ * Si el hilo de volcado se detiene por un error que no es de una escritura (por ejemplo, un {@link Error}), el
+ * repositorio queda cerrado y las escrituras que no se habían guardado fallan con ese error como causa.
+ */
+public class WriteBehindQuestionRepositoryImpl implements IQuestionRepository, Closeable {
+    public enum Durability {
+        ACK_ON_BUFFER,
+        ACK_ON_FLUSH
+    }
+
+    private final IQuestionRepository questionRepository;
+    private final Durability durability;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+    private final Pending[] ring;
+    private final Map<Long, Buffered> bufferedById = new ConcurrentHashMap<>();
+    private final long[] flushedByStripe = new long[64];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private final Condition notFull = this.lock.newCondition();
+    private final Condition committed = this.lock.newCondition();
+    private final Thread flusher;
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    private int head;
+    private int count;
+    private long enqueuedWrites;
+    private long committedWrites;
+    private long flushRequestedUpTo;
+    private boolean closed;
+    private Throwable failure;
+    private int settled;
+
+    public WriteBehindQuestionRepositoryImpl(IQuestionRepository questionRepository, int capacity, int maxBatchSize,
+                                             Duration flushInterval, Durability durability) {
+        if (capacity <= 0 || maxBatchSize <= 0) {
+            throw new IllegalArgumentException("La capacidad y el tamaño de lote deben ser positivos");
+        }
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("El intervalo de volcado debe ser positivo");
+        }
+        this.questionRepository = questionRepository;
+        this.durability = durability;
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.ring = new Pending[capacity];
+        this.flusher = new Thread(this::runFlusher, "question-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public List<String> findQuestionsByExamId(Long id) {
+        Buffered buffered = id == null ? null : this.bufferedById.get(id);
+        return buffered != null ? buffered.questions() : this.questionRepository.findQuestionsByExamId(id);
+    }
+
+    @Override
+    public Map<Long, List<String>> findQuestionsByExamIds(Collection<Long> ids) {
+        if (this.bufferedById.isEmpty()) {
+            return this.questionRepository.findQuestionsByExamIds(ids);
+        }
+        Map<Long, List<String>> questionsByExamId = new HashMap<>();
+        List<Long> stored = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Buffered buffered = id == null ? null : this.bufferedById.get(id);
+            if (buffered != null) {
+                questionsByExamId.put(id, buffered.questions());
+            } else {
+                stored.add(id);
+            }
+        }
+        if (!stored.isEmpty()) {
+            questionsByExamId.putAll(this.questionRepository.findQuestionsByExamIds(stored));
+        }
+        return questionsByExamId;
+    }
+
+    @Override
+    public void saveQuestions(List<String> questions) {
+        if (questions != null && !questions.isEmpty()) {
+            this.awaitIfNeeded(this.enqueue(questions));
+        }
+    }
+
+    @Override
+    public void saveAllQuestions(Map<Long, List<String>> questionsByExamId) {
+        List<CompletableFuture<Void>> pending = new ArrayList<>(questionsByExamId.size());
+        for (Map.Entry<Long, List<String>> entry : questionsByExamId.entrySet()) {
+            CompletableFuture<Void> done = this.enqueueSave(entry.getKey(), entry.getValue());
+            if (done != null) {
+                pending.add(done);
+            }
+        }
+        for (CompletableFuture<Void> done : pending) {
+            this.awaitIfNeeded(done);
+        }
+    }
+
+    @Override
+    public void saveQuestions(long examId, List<String> questions) {
+        this.awaitIfNeeded(this.enqueueSave(examId, questions));
+    }
+
+    @Override
+    public void updateQuestions(long examId, List<QuestionChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        List<QuestionChange> copy = List.copyOf(changes);
+        this.awaitIfNeeded(this.enqueue(examId, null, current -> Questions.apply(current, copy), true,
+                repository -> repository.updateQuestions(examId, copy)));
+    }
+
+    /**
+     * Espera a que se guarde todo lo que estaba en el buffer al momento de llamarlo, sin esperar la ventana de tiempo.
+     */
+    public void flush() {
+        this.lock.lock();
+        try {
+            long target = this.enqueuedWrites;
+            this.flushRequestedUpTo = Math.max(this.flushRequestedUpTo, target);
+            this.notEmpty.signal();
+            while (this.committedWrites < target) {
+                this.committed.awaitUninterruptibly();
+            }
+            if (this.failure != null) {
+                throw new IllegalStateException("El volcado de preguntas se detuvo por un error", this.failure);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Vuelca lo pendiente y detiene el hilo de volcado; las escrituras posteriores fallan con {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.notEmpty.signal();
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+        try {
+            this.flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPendingCount() {
+        this.lock.lock();
+        try {
+            return this.count;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public long getFlushCount() {
+        return this.flushes.sum();
+    }
+
+    public long getFailedWriteCount() {
+        return this.failedWrites.sum();
+    }
+
+    private CompletableFuture<Void> enqueueSave(long examId, List<String> questions) {
+        List<String> saved = Questions.immutable(questions);
+        return this.enqueue(examId, saved, current -> saved, false, null);
+    }
+
+    private CompletableFuture<Void> enqueue(List<String> questions) {
+        this.lock.lock();
+        try {
+            this.awaitSpace();
+            return this.append(Questions.immutable(questions), null, null);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Encola una escritura del examen {@code examId} y deja en {@code bufferedById} la lista que tendrá al volcarse:
+     * {@code update} se aplica a la que dejó la escritura pendiente anterior o, si no hay y {@code readsCurrent}, a la
+     * guardada en el repositorio decorado. Un guardado lleva sus {@code questions} y ningún {@code examWrite}, para
+     * volcarse agrupado con los guardados vecinos.
+     */
+    private CompletableFuture<Void> enqueue(long examId, List<String> questions, UnaryOperator<List<String>> update,
+                                            boolean readsCurrent, Consumer<IQuestionRepository> examWrite) {
+        int stripe = Long.hashCode(examId) & (this.flushedByStripe.length - 1);
+        List<String> stored = null;
+        long flushed = -1;
+        while (true) {
+            this.lock.lock();
+            try {
+                this.awaitSpace();
+                Buffered buffered = this.bufferedById.get(examId);
+                if (buffered != null || !readsCurrent || flushed == this.flushedByStripe[stripe]) {
+                    List<String> updated = update.apply(buffered != null ? buffered.questions() : stored);
+                    this.bufferedById.put(examId, new Buffered(updated, buffered == null ? 1 : buffered.pending() + 1));
+                    return this.append(questions, examId, examWrite);
+                }
+                flushed = this.flushedByStripe[stripe];
+            } finally {
+                this.lock.unlock();
+            }
+            // Sin escrituras pendientes del examen, el repositorio decorado tiene su lista vigente. Se lee sin el
+            // bloqueo y se vuelve a leer si mientras tanto terminó de volcarse algún examen de la misma franja
+            stored = this.questionRepository.findQuestionsByExamId(examId);
+        }
+    }
+
+    private void awaitSpace() {
+        try {
+            while (this.count == this.ring.length && !this.closed) {
+                this.notFull.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se esperaba espacio en el buffer", e);
+        }
+        if (this.closed) {
+            throw new IllegalStateException("El repositorio de escritura diferida está cerrado", this.failure);
+        }
+    }
+
+    private CompletableFuture<Void> append(List<String> questions, Long examId, Consumer<IQuestionRepository> examWrite) {
+        CompletableFuture<Void> done = this.durability == Durability.ACK_ON_FLUSH ? new CompletableFuture<>() : null;
+        this.ring[(this.head + this.count) % this.ring.length] = new Pending(questions, examId, examWrite, done);
+        this.count++;
+        this.enqueuedWrites++;
+        // La primera escritura arranca la ventana de tiempo del volcador y la que completa el lote la cierra
+        if (this.count == 1 || this.count >= this.maxBatchSize) {
+            this.notEmpty.signal();
+        }
+        return done;
+    }
+
+    private void runFlusher() {
+        List<Pending> group = null;
+        try {
+            while ((group = this.takeGroup()) != null) {
+                this.settled = 0;
+                this.commit(group);
+            }
+        } catch (Throwable e) {
+            this.abort(group == null ? List.of() : group.subList(this.settled, group.size()), e);
+        }
+    }
+
+    /**
+     * Cierra el repositorio tras un error del volcador: fallan las escrituras del grupo en curso que no se llegaron a
+     * guardar y las que seguían en el buffer, y se despierta a quienes esperaban espacio o un volcado.
+     */
+    private void abort(List<Pending> unsettled, Throwable failure) {
+        List<Pending> lost = new ArrayList<>(unsettled);
+        this.lock.lock();
+        try {
+            this.failure = failure;
+            this.closed = true;
+            for (int i = 0; i < this.count; i++) {
+                int index = (this.head + i) % this.ring.length;
+                lost.add(this.ring[index]);
+                this.ring[index] = null;
+            }
+            this.count = 0;
+            this.bufferedById.clear();
+            // Se cuentan antes de despertar a flush(), para que quien vuelve de ahí ya vea las escrituras perdidas
+            this.failedWrites.add(lost.size());
+            this.committedWrites = this.enqueuedWrites;
+            this.notFull.signalAll();
+            this.committed.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+        for (Pending pending : lost) {
+            if (pending.done() != null) {
+                pending.done().completeExceptionally(failure);
+            }
+        }
+    }
+
+    private List<Pending> takeGroup() {
+        this.lock.lock();
+        try {
+            while (this.count == 0 && !this.closed) {
+                this.notEmpty.awaitUninterruptibly();
+            }
+            if (this.count == 0) {
+                return null;
+            }
+            long deadline = System.nanoTime() + this.flushIntervalNanos;
+            while (this.count < this.maxBatchSize && !this.closed && this.flushRequestedUpTo <= this.committedWrites) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    this.notEmpty.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            int size = Math.min(this.count, this.maxBatchSize);
+            List<Pending> group = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                group.add(this.ring[this.head]);
+                this.ring[this.head] = null;
+                this.head = (this.head + 1) % this.ring.length;
+            }
+            this.count -= size;
+            this.notFull.signalAll();
+            return group;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void commit(List<Pending> group) {
+        // Los guardados consecutivos del mismo tipo se vuelcan juntos; cualquier otra escritura corta el tramo para
+        // respetar el orden
+        int from = 0;
+        while (from < group.size()) {
+            Pending first = group.get(from);
+            int to = from + 1;
+            if (first.examWrite() != null) {
+                this.complete(group.subList(from, to), () -> first.examWrite().accept(this.questionRepository));
+            } else {
+                while (to < group.size() && group.get(to).examWrite() == null
+                        && (group.get(to).examId() == null) == (first.examId() == null)) {
+                    to++;
+                }
+                if (first.examId() == null) {
+                    this.commitLists(group.subList(from, to));
+                } else {
+                    this.commitExamLists(group.subList(from, to));
+                }
+            }
+            from = to;
+        }
+        this.flushes.increment();
+        this.lock.lock();
+        try {
+            for (Pending pending : group) {
+                if (pending.examId() != null) {
+                    this.release(pending.examId());
+                }
+            }
+            this.committedWrites += group.size();
+            this.committed.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void release(long examId) {
+        Buffered buffered = this.bufferedById.get(examId);
+        if (buffered == null) {
+            return;
+        }
+        if (buffered.pending() == 1) {
+            this.bufferedById.remove(examId);
+            this.flushedByStripe[Long.hashCode(examId) & (this.flushedByStripe.length - 1)]++;
+        } else {
+            this.bufferedById.put(examId, new Buffered(buffered.questions(), buffered.pending() - 1));
+        }
+    }
+
+    private void commitLists(List<Pending> segment) {
+        this.complete(segment, () -> {
+            for (Pending pending : segment) {
+                this.questionRepository.saveQuestions(pending.questions());
+            }
+        });
+    }
+
+    private void commitExamLists(List<Pending> segment) {
+        // Si un examen se guardó dos veces en el tramo, gana la última, como al aplicarlas en orden
+        Map<Long, List<String>> questionsByExamId = new LinkedHashMap<>();
+        for (Pending pending : segment) {
+            questionsByExamId.put(pending.examId(), pending.questions());
+        }
+        this.complete(segment, () -> this.questionRepository.saveAllQuestions(questionsByExamId));
+    }
+
+    private void complete(List<Pending> segment, Runnable write) {
+        Throwable failure = null;
+        try {
+            write.run();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            this.failedWrites.add(segment.size());
+        }
+        for (Pending pending : segment) {
+            if (pending.done() == null) {
+                continue;
+            }
+            if (failure == null) {
+                pending.done().complete(null);
+            } else {
+                pending.done().completeExceptionally(failure);
+            }
+        }
+        this.settled += segment.size();
+        // Un Error no es una escritura fallida más: detiene el volcador, que cierra el repositorio en runFlusher
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    private void awaitIfNeeded(CompletableFuture<Void> done) {
+        if (done == null) {
+            return;
+        }
+        try {
+            done.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("El volcado de preguntas se detuvo por un error", e.getCause());
+        }
+    }
+
+    private record Pending(List<String> questions, Long examId, Consumer<IQuestionRepository> examWrite,
+                           CompletableFuture<Void> done) {
+    }
+
+    /**
+     * Las preguntas que tendrá un examen cuando se vuelquen sus {@code pending} escrituras en el buffer.
+     */
+    private record Buffered(List<String> questions, int pending) {
+    }
+}
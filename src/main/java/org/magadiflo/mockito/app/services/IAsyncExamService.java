@@ -0,0 +1,15 @@
+package org.magadiflo.mockito.app.services;
+
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface IAsyncExamService {
+    CompletableFuture<Exam> findExamByNameWithQuestionsAsync(String name);
+    CompletableFuture<ExamWithQuestions> findExamWithQuestionsAsync(String name);
+    CompletableFuture<Exam> saveExamAsync(Exam exam);
+    CompletableFuture<List<Exam>> saveExamsAsync(Collection<Exam> exams);
+}
@@ -1,11 +1,21 @@
 package org.magadiflo.mockito.app.services;
 
 import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface IExamService {
     Optional<Exam> findExamByName(String name);
+    Exam findExamByNameOrNull(String name);
     Exam findExamByNameWithQuestions(String name);
+    ExamWithQuestions findExamWithQuestions(String name);
+    List<Exam> findExamsByNamesWithQuestions(Collection<String> names);
+    List<ExamWithQuestions> findAllExamsWithQuestions();
+    List<Exam> searchExams(String query, int limit);
+    List<Exam> listExams(long afterId, int limit);
     Exam saveExam(Exam exam);
+    List<Exam> saveExams(Collection<Exam> exams);
 }
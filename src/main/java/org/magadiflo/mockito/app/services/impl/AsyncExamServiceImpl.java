@@ -0,0 +1,116 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.magadiflo.mockito.app.concurrent.SingleFlight;
+import org.magadiflo.mockito.app.exceptions.ExamNotFoundException;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
+import org.magadiflo.mockito.app.repositories.IExamRepository;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+import org.magadiflo.mockito.app.services.IAsyncExamService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class AsyncExamServiceImpl implements IAsyncExamService {
+    private final IExamRepository examRepository;
+    private final IQuestionRepository questionRepository;
+    private final Executor executor;
+    private final SingleFlight<String, ExamWithQuestions> examsWithQuestionsByName = new SingleFlight<>();
+    private int batchSize = Batches.DEFAULT_BATCH_SIZE;
+
+    public AsyncExamServiceImpl(IExamRepository examRepository, IQuestionRepository questionRepository) {
+        this(examRepository, questionRepository, defaultExecutor());
+    }
+
+    public AsyncExamServiceImpl(IExamRepository examRepository, IQuestionRepository questionRepository, Executor executor) {
+        this.examRepository = examRepository;
+        this.questionRepository = questionRepository;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Exam> findExamByNameWithQuestionsAsync(String name) {
+        // Cada llamador recibe su propia copia; lo que se comparte entre llamadas agrupadas es la vista inmutable
+        return this.findExamWithQuestionsAsync(name).thenApply(ExamWithQuestions::toExam);
+    }
+
+    @Override
+    public CompletableFuture<ExamWithQuestions> findExamWithQuestionsAsync(String name) {
+        return this.examsWithQuestionsByName.executeAsync(name, () -> this.loadExamWithQuestions(name));
+    }
+
+    private CompletableFuture<ExamWithQuestions> loadExamWithQuestions(String name) {
+        return CompletableFuture
+                .supplyAsync(() -> this.examRepository.findByName(name)
+                        .orElseThrow(() -> new ExamNotFoundException(name)), this.executor)
+                .thenApplyAsync(exam -> {
+                    if (exam.getId() == null) {
+                        throw new IllegalArgumentException(String.format("¡El exam %s no tiene id!", name));
+                    }
+                    List<String> questions = this.questionRepository.findQuestionsByExamId(exam.getId());
+                    return ExamWithQuestions.of(exam, questions);
+                }, this.executor);
+    }
+
+    @Override
+    public CompletableFuture<Exam> saveExamAsync(Exam exam) {
+        // Las preguntas se guardan con el id que el repositorio asigna al examen, por eso van después
+        CompletableFuture<Exam> examFuture = CompletableFuture.supplyAsync(() -> this.examRepository.saveExam(exam), this.executor);
+        if (exam.getQuestions().isEmpty()) {
+            return examFuture;
+        }
+        return examFuture.thenApplyAsync(examDB -> {
+            Batches.saveQuestionsOf(this.questionRepository, exam, examDB);
+            return examDB;
+        }, this.executor);
+    }
+
+    @Override
+    public CompletableFuture<List<Exam>> saveExamsAsync(Collection<Exam> exams) {
+        // Pipeline: las preguntas del lote k se escriben, ya con sus ids, mientras se escriben los exámenes del lote k+1.
+        // Cada repositorio recibe sus lotes en orden.
+        CompletableFuture<List<Exam>> previousExams = CompletableFuture.completedFuture(List.of());
+        CompletableFuture<Void> previousQuestions = CompletableFuture.completedFuture(null);
+        List<CompletableFuture<List<Exam>>> batches = new ArrayList<>();
+        for (List<Exam> batch : Batches.partition(exams, this.batchSize)) {
+            CompletableFuture<List<Exam>> batchExams = previousExams
+                    .thenApplyAsync(unused -> this.examRepository.saveExams(batch), this.executor);
+            previousQuestions = batchExams.thenCombine(previousQuestions, (examsDB, unused) -> examsDB)
+                    .thenAcceptAsync(examsDB -> Batches.saveQuestionsOf(this.questionRepository, batch, examsDB), this.executor);
+            batches.add(batchExams);
+            previousExams = batchExams;
+        }
+        return previousQuestions.thenApply(unused -> {
+            List<Exam> saved = new ArrayList<>(exams.size());
+            for (CompletableFuture<List<Exam>> batch : batches) {
+                saved.addAll(batch.join());
+            }
+            return saved;
+        });
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo");
+        }
+        this.batchSize = batchSize;
+    }
+
+    static Executor defaultExecutor() {
+        try {
+            // Java 21+: un hilo virtual por tarea; el proyecto compila para Java 17, de ahí la reflexión
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "async-exam-service");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
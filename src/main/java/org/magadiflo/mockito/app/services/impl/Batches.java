@@ -0,0 +1,56 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class Batches {
+    static final int DEFAULT_BATCH_SIZE = 500;
+
+    private Batches() {
+    }
+
+    static <T> List<List<T>> partition(Collection<T> items, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo");
+        }
+        List<T> source = new ArrayList<>(items);
+        List<List<T>> batches = new ArrayList<>((source.size() + batchSize - 1) / batchSize);
+        for (int from = 0; from < source.size(); from += batchSize) {
+            batches.add(source.subList(from, Math.min(from + batchSize, source.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * Guarda las preguntas de un examen con el id que le asignó el repositorio.
+     */
+    static void saveQuestionsOf(IQuestionRepository questionRepository, Exam exam, Exam examDB) {
+        if (!exam.getQuestions().isEmpty() && examDB != null && examDB.getId() != null) {
+            questionRepository.saveQuestions(examDB.getId(), exam.getQuestions());
+        }
+    }
+
+    /**
+     * Guarda en una sola llamada las preguntas de cada examen con el id que le asignó el repositorio; {@code examsDB}
+     * va en el mismo orden que {@code exams}.
+     */
+    static void saveQuestionsOf(IQuestionRepository questionRepository, List<Exam> exams, List<Exam> examsDB) {
+        Map<Long, List<String>> questionsByExamId = new LinkedHashMap<>();
+        for (int i = 0; i < exams.size(); i++) {
+            List<String> questions = exams.get(i).getQuestions();
+            Exam examDB = i < examsDB.size() ? examsDB.get(i) : null;
+            if (!questions.isEmpty() && examDB != null && examDB.getId() != null) {
+                questionsByExamId.put(examDB.getId(), questions);
+            }
+        }
+        if (!questionsByExamId.isEmpty()) {
+            questionRepository.saveAllQuestions(questionsByExamId);
+        }
+    }
+}
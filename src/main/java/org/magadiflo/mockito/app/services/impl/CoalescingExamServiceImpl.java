@@ -0,0 +1,76 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.magadiflo.mockito.app.concurrent.SingleFlight;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
+import org.magadiflo.mockito.app.services.IExamService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorador de {@link IExamService} que une las búsquedas concurrentes por el mismo nombre en una sola
+ * llamada al servicio decorado. Todos los que esperan reciben la misma instancia, por lo que las búsquedas con
+ * preguntas se unen sobre {@link #findExamWithQuestions(String)}, cuyo resultado es inmutable, y
+ * {@link #findExamByNameWithQuestions(String)} entrega a cada llamador su propia copia.
+ */
+public class CoalescingExamServiceImpl implements IExamService {
+    private final IExamService examService;
+    private final SingleFlight<String, Exam> examsByName = new SingleFlight<>();
+    private final SingleFlight<String, ExamWithQuestions> snapshotsByName = new SingleFlight<>();
+
+    public CoalescingExamServiceImpl(IExamService examService) {
+        this.examService = examService;
+    }
+
+    @Override
+    public Optional<Exam> findExamByName(String name) {
+        return Optional.ofNullable(this.findExamByNameOrNull(name));
+    }
+
+    @Override
+    public Exam findExamByNameOrNull(String name) {
+        return this.examsByName.execute(name, () -> this.examService.findExamByNameOrNull(name));
+    }
+
+    @Override
+    public Exam findExamByNameWithQuestions(String name) {
+        return this.findExamWithQuestions(name).toExam();
+    }
+
+    @Override
+    public ExamWithQuestions findExamWithQuestions(String name) {
+        return this.snapshotsByName.execute(name, () -> this.examService.findExamWithQuestions(name));
+    }
+
+    @Override
+    public List<Exam> findExamsByNamesWithQuestions(Collection<String> names) {
+        return this.examService.findExamsByNamesWithQuestions(names);
+    }
+
+    @Override
+    public List<ExamWithQuestions> findAllExamsWithQuestions() {
+        return this.examService.findAllExamsWithQuestions();
+    }
+
+    @Override
+    public List<Exam> searchExams(String query, int limit) {
+        return this.examService.searchExams(query, limit);
+    }
+
+    @Override
+    public List<Exam> listExams(long afterId, int limit) {
+        return this.examService.listExams(afterId, limit);
+    }
+
+    @Override
+    public Exam saveExam(Exam exam) {
+        return this.examService.saveExam(exam);
+    }
+
+    @Override
+    public List<Exam> saveExams(Collection<Exam> exams) {
+        return this.examService.saveExams(exams);
+    }
+}
@@ -0,0 +1,171 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.magadiflo.mockito.app.models.Exam;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice de prefijos sobre los nombres de los exámenes, insensible a mayúsculas y tildes.
+ * <p>
+ * Por cada examen se indexa el nombre normalizado (NFD, sin marcas diacríticas, en minúsculas) a partir de
+ * cada palabra, así "Historia del Perú" se encuentra con "hist", "del pe" o "peru". Las claves se guardan
+ * ordenadas en un {@link ConcurrentSkipListSet}: el rango de un prefijo equivale al subárbol de un trie y se
+ * recorre en O(log n + k), sin bloqueos para las lecturas.
+ * <p>
+ * El índice se construye desde el catálogo en la primera búsqueda; hasta entonces {@link #add(Exam)} no hace nada,
+ * porque lo guardado ya forma parte del catálogo que se leerá al construirlo.
+ */
+final class ExamSearchIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Supplier<Stream<Exam>> catalog;
+    private NavigableSet<Key> keys = new ConcurrentSkipListSet<>();
+    private final Map<Long, Indexed> examsById = new ConcurrentHashMap<>();
+    private final Object buildLock = new Object();
+    private volatile boolean built;
+
+    ExamSearchIndex(Supplier<Stream<Exam>> catalog) {
+        this.catalog = catalog;
+    }
+
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    void add(Exam exam) {
+        if (!this.built) {
+            // Si el índice se está construyendo se espera a que termine para no perder esta escritura
+            synchronized (this.buildLock) {
+                if (!this.built) {
+                    return;
+                }
+            }
+        }
+        this.index(exam);
+    }
+
+    private void index(Exam exam) {
+        if (!isIndexable(exam)) {
+            return;
+        }
+        List<String> texts = suffixesOf(normalize(exam.getName()));
+        long id = exam.getId();
+        // compute serializa las escrituras sobre un mismo id, por ejemplo dos renombres concurrentes
+        this.examsById.compute(id, (key, previous) -> {
+            if (previous != null) {
+                for (String text : previous.texts()) {
+                    this.keys.remove(new Key(text, id));
+                }
+            }
+            for (String text : texts) {
+                this.keys.add(new Key(text, id));
+            }
+            return new Indexed(exam, texts);
+        });
+    }
+
+    void addAll(List<Exam> exams) {
+        for (Exam exam : exams) {
+            this.add(exam);
+        }
+    }
+
+    List<Exam> search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("El límite de resultados debe ser positivo");
+        }
+        if (query == null) {
+            return List.of();
+        }
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        this.ensureBuilt();
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Key key : this.keys.subSet(new Key(prefix, Long.MIN_VALUE), true, new Key(prefix + Character.MAX_VALUE, Long.MIN_VALUE), false)) {
+            if (ids.add(key.id()) && ids.size() == limit) {
+                break;
+            }
+        }
+        List<Exam> exams = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Indexed indexed = this.examsById.get(id);
+            if (indexed != null) {
+                exams.add(indexed.exam());
+            }
+        }
+        return exams;
+    }
+
+    int size() {
+        return this.examsById.size();
+    }
+
+    private void ensureBuilt() {
+        if (this.built) {
+            return;
+        }
+        synchronized (this.buildLock) {
+            if (!this.built) {
+                // Las claves se ordenan una sola vez y el skip list se arma de forma lineal a partir del conjunto ordenado
+                TreeSet<Key> sorted = new TreeSet<>();
+                try (Stream<Exam> exams = this.catalog.get()) {
+                    exams.filter(ExamSearchIndex::isIndexable).forEach(exam -> {
+                        List<String> texts = suffixesOf(normalize(exam.getName()));
+                        Indexed previous = this.examsById.put(exam.getId(), new Indexed(exam, texts));
+                        if (previous != null) {
+                            previous.texts().forEach(text -> sorted.remove(new Key(text, exam.getId())));
+                        }
+                        texts.forEach(text -> sorted.add(new Key(text, exam.getId())));
+                    });
+                }
+                this.keys = new ConcurrentSkipListSet<>(sorted);
+                this.built = true;
+            }
+        }
+    }
+
+    private static boolean isIndexable(Exam exam) {
+        return exam != null && exam.getId() != null && exam.getName() != null;
+    }
+
+    private static List<String> suffixesOf(String normalized) {
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        List<String> suffixes = new ArrayList<>();
+        suffixes.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            suffixes.add(normalized.substring(i + 1));
+        }
+        return suffixes;
+    }
+
+    private record Indexed(Exam exam, List<String> texts) {
+    }
+
+    private record Key(String text, long id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byText = this.text.compareTo(other.text);
+            return byText != 0 ? byText : Long.compare(this.id, other.id);
+        }
+    }
+}
@@ -1,48 +1,249 @@
 package org.magadiflo.mockito.app.services.impl;
 
+import org.magadiflo.mockito.app.exceptions.ExamNotFoundException;
+import org.magadiflo.mockito.app.metrics.StageTracer;
 import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
 import org.magadiflo.mockito.app.repositories.IExamRepository;
 import org.magadiflo.mockito.app.repositories.IQuestionRepository;
 import org.magadiflo.mockito.app.services.IExamService;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Mantiene un índice nombre -> examen alimentado por {@link IExamRepository#findByName(String)} y por los guardados,
+ * de modo que las búsquedas repetidas no vuelven al repositorio y nunca recorren {@code findAll()}.
+ */
 public class ExamenServiceImpl implements IExamService {
     private final IExamRepository examRepository;
     private final IQuestionRepository questionRepository;
+    private final ExamSearchIndex searchIndex;
+    private final Map<String, Exam> examsByName = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+    private boolean fillInStackTrace = true;
+    private int batchSize = Batches.DEFAULT_BATCH_SIZE;
+    private ParallelHydration hydration = new ParallelHydration(ParallelHydration.DEFAULT_PARALLELISM);
+    private StageTracer tracer = StageTracer.disabled();
 
     public ExamenServiceImpl(IExamRepository examRepository, IQuestionRepository questionRepository) {
         this.examRepository = examRepository;
         this.questionRepository = questionRepository;
+        this.searchIndex = new ExamSearchIndex(examRepository::streamAll);
     }
 
     @Override
     public Optional<Exam> findExamByName(String name) {
-        return this.examRepository.findAll().stream()
-                .filter(exam -> exam.getName().equals(name))
-                .findFirst();
+        return Optional.ofNullable(this.findExamByNameOrNull(name));
+    }
+
+    @Override
+    public Exam findExamByNameOrNull(String name) {
+        if (name == null) {
+            return null;
+        }
+        Exam exam = this.examsByName.get(name);
+        if (exam != null && !name.equals(exam.getName())) {
+            // Alguien renombró la instancia cacheada sin pasar por saveExam: la entrada ya no vale
+            this.examsByName.remove(name, exam);
+            exam = null;
+        }
+        if (exam == null) {
+            exam = this.examRepository.findByName(name).orElse(null);
+            if (exam != null) {
+                this.cache(exam);
+            }
+        }
+        return exam;
     }
 
     @Override
     public Exam findExamByNameWithQuestions(String name) {
-        Optional<Exam> examOptional = this.findExamByName(name);
-        if (examOptional.isEmpty()) {
-            throw new NoSuchElementException(String.format("¡No existe el exam %s buscado!", name));
+        StageTracer.Span span = this.tracer.start(name);
+        try {
+            Exam exam = this.findExamWithQuestions(name, span).toExam();
+            span.mark(LookupStages.ASSEMBLE);
+            span.end();
+            return exam;
+        } catch (RuntimeException e) {
+            span.fail();
+            throw e;
+        }
+    }
+
+    @Override
+    public ExamWithQuestions findExamWithQuestions(String name) {
+        return this.findExamWithQuestions(name, StageTracer.Span.none());
+    }
+
+    private ExamWithQuestions findExamWithQuestions(String name, StageTracer.Span span) {
+        Exam exam = this.findExamByNameOrNull(name);
+        span.mark(LookupStages.LOOKUP);
+        if (exam == null) {
+            throw new ExamNotFoundException(name, this.fillInStackTrace);
+        }
+        if (exam.getId() == null) {
+            throw new IllegalArgumentException(String.format("¡El exam %s no tiene id!", name));
         }
-        Exam exam = examOptional.get();
+        // El examen del índice se comparte entre hilos, por eso nunca se le asignan las preguntas
         List<String> questions = this.questionRepository.findQuestionsByExamId(exam.getId());
-        exam.setQuestions(questions);
-        return exam;
+        span.mark(LookupStages.QUESTIONS);
+        return ExamWithQuestions.of(exam, questions);
+    }
+
+    @Override
+    public List<Exam> findExamsByNamesWithQuestions(Collection<String> names) {
+        Set<String> distinctNames = new LinkedHashSet<>(names);
+        distinctNames.remove(null);
+        Map<String, Exam> found = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String name : distinctNames) {
+            Exam exam = this.examsByName.get(name);
+            if (exam != null && name.equals(exam.getName())) {
+                found.put(name, exam);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Exam exam : this.examRepository.findByNames(missing)) {
+                found.putIfAbsent(exam.getName(), exam);
+                this.cache(exam);
+            }
+        }
+        List<Exam> exams = new ArrayList<>(found.size());
+        for (String name : distinctNames) {
+            Exam exam = found.get(name);
+            if (exam != null) {
+                exams.add(exam);
+            }
+        }
+        if (exams.isEmpty()) {
+            return exams;
+        }
+        List<Long> ids = exams.stream().map(Exam::getId).toList();
+        Map<Long, List<String>> questionsByExamId = this.questionRepository.findQuestionsByExamIds(ids);
+        exams.replaceAll(exam -> ExamWithQuestions.of(exam, questionsByExamId.get(exam.getId())).toExam());
+        return exams;
+    }
+
+    @Override
+    public List<ExamWithQuestions> findAllExamsWithQuestions() {
+        return this.hydration.hydrate(this.questionRepository, this.examRepository.findAll(), this.batchSize);
+    }
+
+    @Override
+    public List<Exam> searchExams(String query, int limit) {
+        return this.searchIndex.search(query, limit);
+    }
+
+    @Override
+    public List<Exam> listExams(long afterId, int limit) {
+        return this.examRepository.findPage(afterId, limit);
     }
 
     @Override
     public Exam saveExam(Exam exam) {
-        List<String> questions = exam.getQuestions();
-        if (!questions.isEmpty()) {
-            this.questionRepository.saveQuestions(questions);
+        // Las preguntas se guardan después del examen, ya con el id que le asignó el repositorio
+        Exam examDB = this.examRepository.saveExam(exam);
+        Batches.saveQuestionsOf(this.questionRepository, exam, examDB);
+        this.searchIndex.add(examDB);
+        this.reindex(examDB);
+        return examDB;
+    }
+
+    @Override
+    public List<Exam> saveExams(Collection<Exam> exams) {
+        List<Exam> saved = new ArrayList<>(exams.size());
+        for (List<Exam> batch : Batches.partition(exams, this.batchSize)) {
+            List<Exam> examsDB = this.examRepository.saveExams(batch);
+            Batches.saveQuestionsOf(this.questionRepository, batch, examsDB);
+            this.searchIndex.addAll(examsDB);
+            for (Exam examDB : examsDB) {
+                this.reindex(examDB);
+            }
+            saved.addAll(examsDB);
+        }
+        return saved;
+    }
+
+    public void invalidateIndex() {
+        this.examsByName.clear();
+        this.namesById.clear();
+    }
+
+    /**
+     * Publica en el índice un examen leído del repositorio. La lectura pudo ser anterior a un renombre concurrente,
+     * así que el nombre se contrasta con {@code namesById}, que {@link #reindex(Exam)} actualiza antes de tocar
+     * {@code examsByName}: si el renombre llega antes de la comprobación final se ve aquí y la entrada se retira;
+     * si llega después, es {@code reindex} quien la quita.
+     */
+    private void cache(Exam exam) {
+        Long id = exam.getId();
+        String name = exam.getName();
+        if (id == null || name == null) {
+            return;
+        }
+        String indexedName = this.namesById.putIfAbsent(id, name);
+        if (indexedName != null && !indexedName.equals(name)) {
+            return;
+        }
+        this.examsByName.putIfAbsent(name, exam);
+        if (!name.equals(this.namesById.get(id))) {
+            this.examsByName.remove(name, exam);
         }
-        return this.examRepository.saveExam(exam);
+    }
+
+    /**
+     * Deja el índice apuntando al examen recién guardado y, si cambió de nombre, quita su nombre anterior.
+     */
+    private void reindex(Exam examDB) {
+        if (examDB == null || examDB.getId() == null || examDB.getName() == null) {
+            this.invalidateIndex();
+            return;
+        }
+        Long id = examDB.getId();
+        String previousName = this.namesById.put(id, examDB.getName());
+        if (previousName != null && !previousName.equals(examDB.getName())) {
+            // Solo se borra si la entrada sigue siendo de este examen; otro pudo haber tomado ese nombre
+            this.examsByName.computeIfPresent(previousName, (name, cached) -> id.equals(cached.getId()) ? null : cached);
+        }
+        this.examsByName.put(examDB.getName(), examDB);
+    }
+
+    public void setBatchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public void setHydrationParallelism(int hydrationParallelism) {
+        ParallelHydration previous = this.hydration;
+        this.hydration = new ParallelHydration(hydrationParallelism);
+        previous.shutdown();
+    }
+
+    /**
+     * Con {@code false} los {@link ExamNotFoundException} no capturan la traza de la pila, para quien trata
+     * "no existe" como un resultado frecuente y no como un error.
+     */
+    public void setFillInStackTrace(boolean fillInStackTrace) {
+        this.fillInStackTrace = fillInStackTrace;
+    }
+
+    /**
+     * Traza por etapas una muestra de las llamadas a {@link #findExamByNameWithQuestions(String)}: búsqueda del examen,
+     * lectura de las preguntas y armado del resultado.
+     */
+    public void setTracer(StageTracer tracer) {
+        this.tracer = tracer;
     }
 }
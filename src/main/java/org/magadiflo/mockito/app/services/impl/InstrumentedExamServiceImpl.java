@@ -0,0 +1,202 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.magadiflo.mockito.app.metrics.ICounter;
+import org.magadiflo.mockito.app.metrics.IDistribution;
+import org.magadiflo.mockito.app.metrics.IMetricsRegistry;
+import org.magadiflo.mockito.app.metrics.Operation;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
+import org.magadiflo.mockito.app.services.IExamService;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Decorador de {@link IExamService} que registra latencia y errores de cada operación, los exámenes no encontrados
+ * ({@code exam.service.misses}) y la cantidad de preguntas devueltas. Con {@link IMetricsRegistry#noop()} no lee el reloj.
+ */
+public class InstrumentedExamServiceImpl implements IExamService {
+    private final IExamService examService;
+    private final Operation findExamByName;
+    private final Operation findExamByNameOrNull;
+    private final Operation findExamByNameWithQuestions;
+    private final Operation findExamWithQuestions;
+    private final Operation findExamsByNamesWithQuestions;
+    private final Operation findAllExamsWithQuestions;
+    private final Operation searchExams;
+    private final Operation listExams;
+    private final Operation saveExam;
+    private final Operation saveExams;
+    private final ICounter misses;
+    private final IDistribution questionCount;
+
+    public InstrumentedExamServiceImpl(IExamService examService) {
+        this(examService, IMetricsRegistry.noop());
+    }
+
+    public InstrumentedExamServiceImpl(IExamService examService, IMetricsRegistry registry) {
+        this.examService = examService;
+        this.findExamByName = new Operation(registry, "exam.service.findExamByName");
+        this.findExamByNameOrNull = new Operation(registry, "exam.service.findExamByNameOrNull");
+        this.findExamByNameWithQuestions = new Operation(registry, "exam.service.findExamByNameWithQuestions");
+        this.findExamWithQuestions = new Operation(registry, "exam.service.findExamWithQuestions");
+        this.findExamsByNamesWithQuestions = new Operation(registry, "exam.service.findExamsByNamesWithQuestions");
+        this.findAllExamsWithQuestions = new Operation(registry, "exam.service.findAllExamsWithQuestions");
+        this.searchExams = new Operation(registry, "exam.service.searchExams");
+        this.listExams = new Operation(registry, "exam.service.listExams");
+        this.saveExam = new Operation(registry, "exam.service.saveExam");
+        this.saveExams = new Operation(registry, "exam.service.saveExams");
+        this.misses = registry.counter("exam.service.misses");
+        this.questionCount = registry.distribution("exam.service.questions");
+    }
+
+    @Override
+    public Optional<Exam> findExamByName(String name) {
+        long start = this.findExamByName.start();
+        try {
+            Optional<Exam> result = this.examService.findExamByName(name);
+            if (result.isEmpty()) {
+                this.misses.increment();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            this.findExamByName.failed();
+            throw e;
+        } finally {
+            this.findExamByName.stop(start);
+        }
+    }
+
+    @Override
+    public Exam findExamByNameOrNull(String name) {
+        long start = this.findExamByNameOrNull.start();
+        try {
+            Exam result = this.examService.findExamByNameOrNull(name);
+            if (result == null) {
+                this.misses.increment();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            this.findExamByNameOrNull.failed();
+            throw e;
+        } finally {
+            this.findExamByNameOrNull.stop(start);
+        }
+    }
+
+    @Override
+    public Exam findExamByNameWithQuestions(String name) {
+        long start = this.findExamByNameWithQuestions.start();
+        try {
+            Exam result = this.examService.findExamByNameWithQuestions(name);
+            this.questionCount.record(result.getQuestions().size());
+            return result;
+        } catch (NoSuchElementException e) {
+            this.misses.increment();
+            throw e;
+        } catch (RuntimeException e) {
+            this.findExamByNameWithQuestions.failed();
+            throw e;
+        } finally {
+            this.findExamByNameWithQuestions.stop(start);
+        }
+    }
+
+    @Override
+    public ExamWithQuestions findExamWithQuestions(String name) {
+        long start = this.findExamWithQuestions.start();
+        try {
+            ExamWithQuestions result = this.examService.findExamWithQuestions(name);
+            this.questionCount.record(result.questions().size());
+            return result;
+        } catch (NoSuchElementException e) {
+            this.misses.increment();
+            throw e;
+        } catch (RuntimeException e) {
+            this.findExamWithQuestions.failed();
+            throw e;
+        } finally {
+            this.findExamWithQuestions.stop(start);
+        }
+    }
+
+    @Override
+    public List<Exam> findExamsByNamesWithQuestions(Collection<String> names) {
+        long start = this.findExamsByNamesWithQuestions.start();
+        try {
+            return this.examService.findExamsByNamesWithQuestions(names);
+        } catch (RuntimeException e) {
+            this.findExamsByNamesWithQuestions.failed();
+            throw e;
+        } finally {
+            this.findExamsByNamesWithQuestions.stop(start);
+        }
+    }
+
+    @Override
+    public List<ExamWithQuestions> findAllExamsWithQuestions() {
+        long start = this.findAllExamsWithQuestions.start();
+        try {
+            return this.examService.findAllExamsWithQuestions();
+        } catch (RuntimeException e) {
+            this.findAllExamsWithQuestions.failed();
+            throw e;
+        } finally {
+            this.findAllExamsWithQuestions.stop(start);
+        }
+    }
+
+    @Override
+    public List<Exam> searchExams(String query, int limit) {
+        long start = this.searchExams.start();
+        try {
+            return this.examService.searchExams(query, limit);
+        } catch (RuntimeException e) {
+            this.searchExams.failed();
+            throw e;
+        } finally {
+            this.searchExams.stop(start);
+        }
+    }
+
+    @Override
+    public List<Exam> listExams(long afterId, int limit) {
+        long start = this.listExams.start();
+        try {
+            return this.examService.listExams(afterId, limit);
+        } catch (RuntimeException e) {
+            this.listExams.failed();
+            throw e;
+        } finally {
+            this.listExams.stop(start);
+        }
+    }
+
+    @Override
+    public Exam saveExam(Exam exam) {
+        long start = this.saveExam.start();
+        try {
+            return this.examService.saveExam(exam);
+        } catch (RuntimeException e) {
+            this.saveExam.failed();
+            throw e;
+        } finally {
+            this.saveExam.stop(start);
+        }
+    }
+
+    @Override
+    public List<Exam> saveExams(Collection<Exam> exams) {
+        long start = this.saveExams.start();
+        try {
+            return this.examService.saveExams(exams);
+        } catch (RuntimeException e) {
+            this.saveExams.failed();
+            throw e;
+        } finally {
+            this.saveExams.stop(start);
+        }
+    }
+}
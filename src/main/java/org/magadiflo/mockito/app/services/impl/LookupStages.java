@@ -0,0 +1,14 @@
+package org.magadiflo.mockito.app.services.impl;
+
+/**
+ * Etapas que se marcan al trazar {@code findExamByNameWithQuestions}: buscar el examen, leer sus preguntas y armar
+ * el examen resultante.
+ */
+final class LookupStages {
+    static final String LOOKUP = "lookup";
+    static final String QUESTIONS = "questions";
+    static final String ASSEMBLE = "assemble";
+
+    private LookupStages() {
+    }
+}
@@ -0,0 +1,126 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Carga las preguntas de muchos exámenes repartiendo la lista en {@code parallelism} tramos que se resuelven
+ * en un {@link ForkJoinPool} propio, creado al primer uso. Las consultas al repositorio bloquean, así que no se usa
+ * el pool común: una carga grande lo ocuparía entero y frenaría a los streams paralelos y tareas del resto de la JVM.
+ * Cada tramo consulta el repositorio por lotes de {@code batchSize} ids y escribe en su propio rango del arreglo de
+ * resultados, así que los hilos no comparten nada que haya que sincronizar.
+ */
+final class ParallelHydration {
+    static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private final int parallelism;
+    private volatile ForkJoinPool pool;
+
+    ParallelHydration(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("El paralelismo debe ser positivo");
+        }
+        this.parallelism = parallelism;
+    }
+
+    List<ExamWithQuestions> hydrate(IQuestionRepository questionRepository, List<Exam> exams, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser positivo");
+        }
+        if (exams.isEmpty()) {
+            return List.of();
+        }
+        ExamWithQuestions[] hydrated = new ExamWithQuestions[exams.size()];
+        // Como mucho hay parallelism tramos, por lo que nunca hay más llamadas concurrentes al repositorio
+        int sliceSize = (exams.size() + this.parallelism - 1) / this.parallelism;
+        this.pool().invoke(new HydrationTask(questionRepository, exams, hydrated, 0, exams.size(), sliceSize, batchSize));
+        return List.of(hydrated);
+    }
+
+    /**
+     * Deja terminar las cargas en curso y libera los hilos del pool; no hace falta si el pool nunca se usó.
+     */
+    void shutdown() {
+        ForkJoinPool pool = this.pool;
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private ForkJoinPool pool() {
+        ForkJoinPool pool = this.pool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = this.pool;
+                if (pool == null) {
+                    // Los hilos del pool son daemon y terminan solos tras un rato sin tareas
+                    pool = new ForkJoinPool(this.parallelism, forkJoinPool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                        thread.setName("exam-hydration-" + thread.getPoolIndex());
+                        return thread;
+                    }, null, false);
+                    this.pool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private static final class HydrationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final IQuestionRepository questionRepository;
+        private final List<Exam> exams;
+        private final ExamWithQuestions[] hydrated;
+        private final int from;
+        private final int to;
+        private final int sliceSize;
+        private final int batchSize;
+
+        private HydrationTask(IQuestionRepository questionRepository, List<Exam> exams, ExamWithQuestions[] hydrated,
+                              int from, int to, int sliceSize, int batchSize) {
+            this.questionRepository = questionRepository;
+            this.exams = exams;
+            this.hydrated = hydrated;
+            this.from = from;
+            this.to = to;
+            this.sliceSize = sliceSize;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from > this.sliceSize) {
+                int slices = (this.to - this.from + this.sliceSize - 1) / this.sliceSize;
+                int middle = this.from + (slices / 2) * this.sliceSize;
+                invokeAll(this.subtask(this.from, middle), this.subtask(middle, this.to));
+                return;
+            }
+            for (int start = this.from; start < this.to; start += this.batchSize) {
+                this.hydrateBatch(start, Math.min(start + this.batchSize, this.to));
+            }
+        }
+
+        private HydrationTask subtask(int from, int to) {
+            return new HydrationTask(this.questionRepository, this.exams, this.hydrated, from, to, this.sliceSize, this.batchSize);
+        }
+
+        private void hydrateBatch(int start, int end) {
+            List<Exam> batch = this.exams.subList(start, end);
+            List<Long> ids = batch.stream().map(Exam::getId).toList();
+            Map<Long, List<String>> questionsByExamId = this.questionRepository.findQuestionsByExamIds(ids);
+            for (int i = start; i < end; i++) {
+                Exam exam = this.exams.get(i);
+                List<String> questions = exam.getId() == null ? null : questionsByExamId.get(exam.getId());
+                this.hydrated[i] = ExamWithQuestions.of(exam, questions);
+            }
+        }
+    }
+}
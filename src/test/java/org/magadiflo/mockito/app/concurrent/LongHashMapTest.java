@@ -0,0 +1,86 @@
+package org.magadiflo.mockito.app.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashMapTest {
+    @Test
+    void putAndGetAcrossResizes() {
+        LongHashMap<String> map = new LongHashMap<>();
+
+        for (long id = 0; id < 10_000; id++) {
+            assertNull(map.put(id, "Examen " + id));
+        }
+
+        assertEquals(10_000, map.size());
+        assertEquals("Examen 0", map.get(0L));
+        assertEquals("Examen 9999", map.get(9_999L));
+        assertNull(map.get(10_000L));
+        assertNull(map.get(-1L));
+    }
+
+    @Test
+    void putReplacesValue() {
+        LongHashMap<String> map = new LongHashMap<>(1);
+
+        map.put(Long.MIN_VALUE, "Aritmética");
+        String previous = map.put(Long.MIN_VALUE, "Geometría");
+
+        assertEquals("Aritmética", previous);
+        assertEquals("Geometría", map.get(Long.MIN_VALUE));
+        assertEquals(1, map.size());
+        assertThrows(NullPointerException.class, () -> map.put(1L, null));
+    }
+
+    @Test
+    void readersNeverSeeMissingKeysWhileWriterResizes() {
+        LongHashMap<Long> map = new LongHashMap<>();
+        map.put(1L, 1L);
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        CompletableFuture<Integer> reader = CompletableFuture.supplyAsync(() -> {
+            int misses = 0;
+            while (writing.get()) {
+                if (!Long.valueOf(1L).equals(map.get(1L))) {
+                    misses++;
+                }
+            }
+            return misses;
+        });
+        for (long id = 2; id < 200_000; id++) {
+            map.put(id, id);
+        }
+        writing.set(false);
+
+        assertEquals(0, reader.join());
+        assertEquals(199_999, map.size());
+    }
+
+    @Test
+    void concurrentComputesDoNotLoseUpdates() {
+        LongHashMap<Long> map = new LongHashMap<>();
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (long i = 0; i < 10_000; i++) {
+                    map.compute(0L, current -> current == null ? 1L : current + 1);
+                    map.compute(42L, current -> current == null ? 1L : current + 1);
+                    map.compute(i + 100, current -> current == null ? 1L : current + 1);
+                }
+            }));
+        }
+        writers.forEach(CompletableFuture::join);
+
+        assertEquals(80_000L, map.get(0L));
+        assertEquals(80_000L, map.get(42L));
+        assertEquals(8L, map.get(10_099L));
+        assertEquals(10_002, map.size());
+        assertThrows(NullPointerException.class, () -> map.compute(1L, current -> null));
+    }
+}
@@ -0,0 +1,107 @@
+package org.magadiflo.mockito.app.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            CompletableFuture<String> result = new CompletableFuture<>();
+            results.add(result);
+            threads.add(new Thread(() -> result.complete(this.singleFlight.execute("Aritmética", () -> {
+                loads.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "Aritmética";
+            }))));
+        }
+        threads.get(0).start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (Thread thread : threads.subList(1, threads.size())) {
+            thread.start();
+        }
+        awaitWaiting(threads);
+        release.countDown();
+
+        for (CompletableFuture<String> result : results) {
+            assertEquals("Aritmética", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, this.singleFlight.inFlight());
+    }
+
+    @Test
+    void failureIsRethrownAndKeyIsReleased() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            this.singleFlight.execute("Lenguaje", () -> {
+                throw new IllegalStateException("caído");
+            });
+        });
+
+        assertEquals("caído", exception.getMessage());
+        assertEquals(0, this.singleFlight.inFlight());
+        assertEquals("Lenguaje", this.singleFlight.execute("Lenguaje", () -> "Lenguaje"));
+    }
+
+    @Test
+    void executeAsyncSharesPendingFuture() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> first = this.singleFlight.executeAsync("Geometría", () -> {
+            loads.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = this.singleFlight.executeAsync("Geometría", () -> {
+            loads.incrementAndGet();
+            return CompletableFuture.completedFuture("otro");
+        });
+        pending.complete("Geometría");
+
+        assertSame(first, second);
+        assertEquals("Geometría", second.join());
+        assertEquals(1, loads.get());
+        assertEquals(0, this.singleFlight.inFlight());
+    }
+
+    @Test
+    void nullKeyIsNotCoalesced() {
+        assertEquals("sin clave", this.singleFlight.execute(null, () -> "sin clave"));
+        assertEquals(0, this.singleFlight.inFlight());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitWaiting(List<Thread> threads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+    }
+}
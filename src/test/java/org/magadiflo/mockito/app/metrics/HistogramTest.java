@@ -0,0 +1,39 @@
+package org.magadiflo.mockito.app.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+    @Test
+    void smallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(55, histogram.getSum());
+        assertEquals(5, histogram.getPercentile(50));
+        assertEquals(10, histogram.getPercentile(100));
+    }
+
+    @Test
+    void percentilesStayWithinRelativeError() {
+        Histogram histogram = new Histogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertEquals(500_000_000, histogram.getPercentile(50), 500_000_000 * 0.04);
+        assertEquals(990_000_000, histogram.getPercentile(99), 990_000_000 * 0.04);
+        assertEquals(999_000_000, histogram.getPercentile(99.9), 999_000_000 * 0.04);
+    }
+
+    @Test
+    void bucketsCoverTheWholeLongRange() {
+        for (long value : new long[]{0, 1, 63, 64, 65, 1_000, Long.MAX_VALUE}) {
+            assertTrue(Histogram.upperBoundOf(Histogram.bucketOf(value)) >= value);
+        }
+    }
+}
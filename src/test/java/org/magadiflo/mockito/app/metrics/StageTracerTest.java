@@ -0,0 +1,128 @@
+package org.magadiflo.mockito.app.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StageTracerTest {
+    @Test
+    void disabledTracerHandsOutTheInertSpan() {
+        StageTracer.Span span = StageTracer.disabled().start("Aritmética");
+        span.mark("lookup");
+        span.end();
+
+        assertFalse(span.isSampled());
+        assertSame(StageTracer.Span.none(), span);
+        assertTrue(StageTracer.disabled().recent().isEmpty());
+    }
+
+    @Test
+    void recordsStagesInMarkOrder() {
+        StageTracer tracer = new StageTracer("operacion", 1, 4);
+
+        StageTracer.Span span = tracer.start("Aritmética");
+        span.mark("lookup");
+        span.mark("questions");
+        span.fail();
+
+        StageTrace trace = tracer.recent().get(0);
+        assertEquals("Aritmética", trace.getKey());
+        assertEquals(List.of("lookup", "questions"), trace.getStages());
+        assertTrue(trace.getStageNanos("lookup") >= 0);
+        assertEquals(-1, trace.getStageNanos("assemble"));
+        assertTrue(trace.getTotalNanos() >= trace.getStageNanos("lookup") + trace.getStageNanos("questions"));
+        assertTrue(trace.isFailed());
+    }
+
+    @Test
+    void ringKeepsTheNewestTraces() {
+        StageTracer tracer = new StageTracer("operacion", 1, 4);
+
+        for (int i = 0; i < 10; i++) {
+            tracer.start("Examen " + i).end();
+        }
+
+        assertEquals(10, tracer.getTraceCount());
+        assertEquals(List.of("Examen 6", "Examen 7", "Examen 8", "Examen 9"),
+                tracer.recent().stream().map(StageTrace::getKey).toList());
+    }
+
+    @Test
+    void samplesOneOfEveryIntervalCalls() {
+        StageTracer tracer = new StageTracer("operacion", 100, 1024);
+
+        for (int i = 0; i < 100_000; i++) {
+            tracer.start("Aritmética").end();
+        }
+
+        assertTrue(tracer.getTraceCount() > 700 && tracer.getTraceCount() < 1300, "Trazas: " + tracer.getTraceCount());
+    }
+
+    @Test
+    void exporterFailuresDoNotReachTheCaller() {
+        StageTracer tracer = new StageTracer("operacion", 1, 4);
+        List<StageTrace> exported = new ArrayList<>();
+        tracer.setExporter(trace -> {
+            exported.add(trace);
+            throw new IllegalStateException("exportador caído");
+        });
+
+        tracer.start("Aritmética").end();
+
+        assertEquals(1, exported.size());
+        assertEquals(1, tracer.getFailedExportCount());
+        assertEquals(1, tracer.recent().size());
+    }
+
+    @Test
+    void dumpSummarizesEachStage() {
+        StageTracer tracer = new StageTracer("exam.service.findExamByNameWithQuestions", 1, 8);
+        StageTracer.Span span = tracer.start("Aritmética");
+        span.mark("lookup");
+        span.mark("questions");
+        span.end();
+
+        String dump = tracer.dump();
+
+        assertTrue(dump.startsWith("exam.service.findExamByNameWithQuestions: 1 trazas"));
+        assertTrue(dump.contains("  total p50="));
+        assertTrue(dump.contains("  lookup p50="));
+        assertTrue(dump.contains("  questions p50="));
+        assertTrue(dump.contains("key=Aritmética"));
+    }
+
+    @Test
+    void emitsOneJfrEventPerStage() throws Exception {
+        StageTracer tracer = new StageTracer("operacion", 1, 4);
+        Path file = Files.createTempFile("stage-trace", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.magadiflo.mockito.StageTrace");
+            recording.start();
+            StageTracer.Span span = tracer.start("Aritmética");
+            span.mark("lookup");
+            span.mark("questions");
+            span.end();
+            recording.stop();
+            recording.dump(file);
+
+            List<String> stages = new ArrayList<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals("org.magadiflo.mockito.StageTrace")) {
+                    assertEquals("Aritmética", event.getString("key"));
+                    stages.add(event.getString("stage"));
+                }
+            }
+            assertEquals(List.of("lookup", "questions"), stages);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
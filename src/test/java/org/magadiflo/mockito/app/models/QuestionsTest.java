@@ -0,0 +1,72 @@
+package org.magadiflo.mockito.app.models;
+
+import org.junit.jupiter.api.Test;
+import org.magadiflo.mockito.app.source.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionsTest {
+    @Test
+    void examsWithoutQuestionsShareTheEmptyList() {
+        Exam docker = Data.getExam();
+        Exam kubernetes = Data.getExamWithoutId();
+
+        assertTrue(docker.getQuestions().isEmpty());
+        assertSame(docker.getQuestions(), kubernetes.getQuestions());
+    }
+
+    @Test
+    void internDeduplicatesQuestionText() {
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        for (String question : Data.getQuestions()) {
+            first.add(new String(question));
+            second.add(new String(question));
+        }
+
+        List<String> internedFirst = Questions.intern(first);
+        List<String> internedSecond = Questions.intern(second);
+
+        assertEquals(Data.getQuestions(), internedFirst);
+        for (int i = 0; i < internedFirst.size(); i++) {
+            assertSame(internedFirst.get(i), internedSecond.get(i));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> internedFirst.add("Pregunta 11"));
+    }
+
+    @Test
+    void packKeepsContentAndOrder() {
+        List<String> questions = List.of("Pregunta 1", "¿Qué es Álgebra?", "", "Trigonometría");
+
+        List<String> packed = Questions.pack(questions);
+
+        assertEquals(questions, packed);
+        assertEquals(4, packed.size());
+        assertEquals("¿Qué es Álgebra?", packed.get(1));
+        assertEquals("", packed.get(2));
+        assertSame(packed, Questions.pack(packed));
+        assertThrows(IndexOutOfBoundsException.class, () -> packed.get(4));
+        assertThrows(UnsupportedOperationException.class, () -> packed.add("Pregunta 2"));
+    }
+
+    @Test
+    void emptyInputsReturnTheSharedEmptyList() {
+        assertSame(Questions.empty(), Questions.intern(List.of()));
+        assertSame(Questions.empty(), Questions.pack(null));
+    }
+
+    @Test
+    void applyChangesInOrder() {
+        List<String> questions = Questions.apply(List.of("Pregunta 1", "Pregunta 2", "Pregunta 3"), List.of(
+                QuestionChange.replace(1, "Pregunta 2 corregida"),
+                QuestionChange.remove(0),
+                QuestionChange.add("Pregunta 4")));
+
+        assertEquals(List.of("Pregunta 2 corregida", "Pregunta 3", "Pregunta 4"), questions);
+        assertThrows(UnsupportedOperationException.class, () -> questions.add("Pregunta 5"));
+        assertThrows(IndexOutOfBoundsException.class, () -> Questions.apply(List.of(), List.of(QuestionChange.remove(0))));
+    }
+}
@@ -0,0 +1,163 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+import org.magadiflo.mockito.app.source.Data;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachedQuestionRepositoryImplTest {
+    @Mock
+    private IQuestionRepository questionRepository;
+
+    private final AtomicLong now = new AtomicLong();
+    private CachedQuestionRepositoryImpl cachedRepository;
+
+    @BeforeEach
+    void setUp() {
+        this.cachedRepository = new CachedQuestionRepositoryImpl(this.questionRepository, 2, Duration.ofSeconds(10), this.now::get);
+    }
+
+    @Test
+    void repeatedLookupsHitTheCache() {
+        when(this.questionRepository.findQuestionsByExamId(1L)).thenReturn(Data.getQuestions());
+
+        this.cachedRepository.findQuestionsByExamId(1L);
+        List<String> questions = this.cachedRepository.findQuestionsByExamId(1L);
+
+        assertEquals(10, questions.size());
+        assertEquals(1, this.cachedRepository.getHitCount());
+        assertEquals(1, this.cachedRepository.getMissCount());
+        verify(this.questionRepository, times(1)).findQuestionsByExamId(1L);
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        when(this.questionRepository.findQuestionsByExamId(1L)).thenReturn(Data.getQuestions());
+
+        this.cachedRepository.findQuestionsByExamId(1L);
+        this.now.addAndGet(Duration.ofSeconds(10).toNanos());
+        this.cachedRepository.findQuestionsByExamId(1L);
+
+        verify(this.questionRepository, times(2)).findQuestionsByExamId(1L);
+        assertEquals(1, this.cachedRepository.getEvictionCount());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        when(this.questionRepository.findQuestionsByExamId(anyLong())).thenReturn(Data.getQuestions());
+
+        this.cachedRepository.findQuestionsByExamId(1L);
+        this.cachedRepository.findQuestionsByExamId(2L);
+        this.cachedRepository.findQuestionsByExamId(1L);
+        this.cachedRepository.findQuestionsByExamId(3L);
+        this.cachedRepository.findQuestionsByExamId(1L);
+        this.cachedRepository.findQuestionsByExamId(2L);
+
+        assertEquals(2, this.cachedRepository.size());
+        assertEquals(2, this.cachedRepository.getEvictionCount());
+        verify(this.questionRepository, times(1)).findQuestionsByExamId(1L);
+        verify(this.questionRepository, times(2)).findQuestionsByExamId(2L);
+    }
+
+    @Test
+    void saveQuestionsInvalidatesCache() {
+        when(this.questionRepository.findQuestionsByExamId(1L)).thenReturn(Data.getQuestions());
+
+        this.cachedRepository.findQuestionsByExamId(1L);
+        this.cachedRepository.saveQuestions(Data.getQuestions());
+        this.cachedRepository.findQuestionsByExamId(1L);
+
+        verify(this.questionRepository).saveQuestions(anyList());
+        verify(this.questionRepository, times(2)).findQuestionsByExamId(1L);
+    }
+
+    @Test
+    void findQuestionsByExamIdsOnlyLoadsMisses() {
+        when(this.questionRepository.findQuestionsByExamId(1L)).thenReturn(Data.getQuestions());
+        when(this.questionRepository.findQuestionsByExamIds(List.of(2L))).thenReturn(Map.of(2L, List.of("Pregunta 1")));
+
+        this.cachedRepository.findQuestionsByExamId(1L);
+        Map<Long, List<String>> questionsByExamId = this.cachedRepository.findQuestionsByExamIds(List.of(1L, 2L));
+
+        assertEquals(10, questionsByExamId.get(1L).size());
+        assertEquals(1, questionsByExamId.get(2L).size());
+        verify(this.questionRepository).findQuestionsByExamIds(List.of(2L));
+    }
+
+    @Test
+    void repeatedIdsInOneLookupDoNotLeaveTheLoadOpen() {
+        when(this.questionRepository.findQuestionsByExamIds(List.of(1L, 1L))).thenReturn(Map.of(1L, Data.getQuestions()));
+        when(this.questionRepository.findQuestionsByExamId(1L)).thenReturn(Data.getQuestions());
+
+        this.cachedRepository.findQuestionsByExamIds(List.of(1L, 1L));
+        this.cachedRepository.invalidate(1L);
+        for (int i = 0; i < 3; i++) {
+            this.cachedRepository.findQuestionsByExamId(1L);
+        }
+
+        assertEquals(2, this.cachedRepository.getHitCount());
+        assertTrue(this.cachedRepository.size() > 0);
+        verify(this.questionRepository, times(1)).findQuestionsByExamId(1L);
+    }
+
+    @Test
+    void examScopedWritesOnlyInvalidateThatExam() {
+        when(this.questionRepository.findQuestionsByExamId(anyLong())).thenReturn(Data.getQuestions());
+
+        this.cachedRepository.findQuestionsByExamId(1L);
+        this.cachedRepository.findQuestionsByExamId(2L);
+        this.cachedRepository.updateQuestions(1L, List.of(QuestionChange.remove(0)));
+        this.cachedRepository.findQuestionsByExamId(1L);
+        this.cachedRepository.findQuestionsByExamId(2L);
+
+        verify(this.questionRepository).updateQuestions(1L, List.of(QuestionChange.remove(0)));
+        verify(this.questionRepository, times(2)).findQuestionsByExamId(1L);
+        verify(this.questionRepository, times(1)).findQuestionsByExamId(2L);
+    }
+
+    @Test
+    void writeDuringLoadOnlyDiscardsThatExam() {
+        when(this.questionRepository.findQuestionsByExamId(1L)).then(invocation -> {
+            this.cachedRepository.saveQuestions(2L, List.of("Pregunta nueva"));
+            return Data.getQuestions();
+        });
+        when(this.questionRepository.findQuestionsByExamId(2L)).then(invocation -> {
+            this.cachedRepository.saveQuestions(2L, List.of("Pregunta nueva"));
+            return Data.getQuestions();
+        });
+
+        this.cachedRepository.findQuestionsByExamId(1L);
+        this.cachedRepository.findQuestionsByExamId(2L);
+        this.cachedRepository.findQuestionsByExamId(1L);
+
+        assertEquals(1, this.cachedRepository.size());
+        assertEquals(1, this.cachedRepository.getHitCount());
+        verify(this.questionRepository, times(1)).findQuestionsByExamId(1L);
+    }
+
+    @Test
+    void largeCachesKeepTheirTotalSize() {
+        CachedQuestionRepositoryImpl cache = new CachedQuestionRepositoryImpl(this.questionRepository, 1_000, Duration.ofSeconds(10), this.now::get);
+        when(this.questionRepository.findQuestionsByExamId(anyLong())).thenReturn(Data.getQuestions());
+
+        for (long id = 1; id <= 5_000; id++) {
+            cache.findQuestionsByExamId(id);
+        }
+
+        assertTrue(cache.size() <= 1_000 && cache.size() > 900, "Tamaño: " + cache.size());
+        assertEquals(5_000 - cache.size(), cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,302 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.services.IExamService;
+import org.magadiflo.mockito.app.services.impl.ExamenServiceImpl;
+import org.magadiflo.mockito.app.source.Data;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExamLogTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void examsAndQuestionsSurviveReopening() {
+        Path file = this.directory.resolve("exams.log");
+        try (ExamLog log = ExamLog.open(file)) {
+            IExamService examService = new ExamenServiceImpl(new FileExamRepositoryImpl(log), new FileQuestionRepositoryImpl(log));
+            Exam exam = Data.getExamWithoutId();
+            exam.setQuestions(Data.getQuestions());
+
+            Exam examDB = examService.saveExam(exam);
+
+            assertEquals(1L, examDB.getId());
+        }
+
+        try (ExamLog log = ExamLog.open(file)) {
+            IExamService examService = new ExamenServiceImpl(new FileExamRepositoryImpl(log), new FileQuestionRepositoryImpl(log));
+
+            Exam exam = examService.findExamByNameWithQuestions("Kubernetes");
+
+            assertEquals(1L, exam.getId());
+            assertEquals(Data.getQuestions(), exam.getQuestions());
+            assertEquals(2L, new FileExamRepositoryImpl(log).saveExam(Data.getExamWithoutId()).getId());
+        }
+    }
+
+    @Test
+    void forceOnWriteLogReopensWithEveryRecord() {
+        Path file = this.directory.resolve("exams.log");
+        try (ExamLog log = ExamLog.open(file, true)) {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(log);
+            for (int i = 0; i < 2_000; i++) {
+                Exam exam = new Exam(null, "Examen " + i);
+                exam.setQuestions(Data.getQuestions());
+                examRepository.saveExam(exam);
+            }
+            new FileQuestionRepositoryImpl(log).updateQuestions(1L, List.of(QuestionChange.add("Pregunta 11")));
+        }
+
+        try (ExamLog log = ExamLog.open(file)) {
+            assertEquals(2_000, log.size());
+            assertEquals(11, log.readQuestions(1L).size());
+            assertEquals(Data.getQuestions(), log.readQuestions(2_000L));
+        }
+    }
+
+    @Test
+    void latestRecordWinsAndRenamesUpdateNameIndex() {
+        try (ExamLog log = ExamLog.open(this.directory.resolve("exams.log"))) {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(log);
+            examRepository.saveExam(new Exam(1L, "Aritmética"));
+            examRepository.saveExam(new Exam(1L, "Aritmética básica"));
+
+            assertTrue(examRepository.findByName("Aritmética").isEmpty());
+            assertEquals(1L, examRepository.findByName("Aritmética básica").orElseThrow().getId());
+            assertEquals(1, examRepository.findAll().size());
+        }
+    }
+
+    @Test
+    void renamingLoadedExamKeepsItsQuestions() {
+        Path file = this.directory.resolve("exams.log");
+        try (ExamLog log = ExamLog.open(file)) {
+            IExamService examService = new ExamenServiceImpl(new FileExamRepositoryImpl(log), new FileQuestionRepositoryImpl(log));
+            Exam exam = Data.getExamWithoutId();
+            exam.setQuestions(Data.getQuestions());
+            examService.saveExam(exam);
+            long size = log.sizeInBytes();
+
+            Exam loaded = new FileExamRepositoryImpl(log).findByName("Kubernetes").orElseThrow();
+            loaded.setName("Kubernetes avanzado");
+            examService.saveExam(loaded);
+
+            assertEquals(Data.getQuestions(), log.readQuestions(1L));
+            // El registro del renombre es el único que se agrega; guardar las mismas preguntas no escribe otro
+            assertTrue(log.sizeInBytes() - size < size);
+        }
+
+        try (ExamLog log = ExamLog.open(file)) {
+            IExamService examService = new ExamenServiceImpl(new FileExamRepositoryImpl(log), new FileQuestionRepositoryImpl(log));
+
+            assertEquals(Data.getQuestions(), examService.findExamByNameWithQuestions("Kubernetes avanzado").getQuestions());
+        }
+    }
+
+    @Test
+    void compactionKeepsOnlyLiveRecords() throws Exception {
+        Path file = this.directory.resolve("exams.log");
+        try (ExamLog log = ExamLog.open(file)) {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(log);
+            for (int i = 0; i < 100; i++) {
+                Exam exam = new Exam(1L, "Docker");
+                exam.setQuestions(List.of("Pregunta " + i));
+                examRepository.saveExam(exam);
+            }
+            examRepository.saveExam(new Exam(2L, "Kubernetes"));
+            long before = log.sizeInBytes();
+
+            log.writeSnapshot();
+            log.compact();
+
+            assertFalse(Files.exists(this.directory.resolve("exams.log.snapshot")));
+
+            assertTrue(log.sizeInBytes() < before);
+            assertEquals(List.of("Pregunta 99"), new FileQuestionRepositoryImpl(log).findQuestionsByExamId(1L));
+            assertEquals(2, examRepository.findAll().size());
+        }
+        assertFalse(Files.exists(this.directory.resolve("exams.log.compact")));
+        try (ExamLog log = ExamLog.open(file)) {
+            assertEquals(List.of("Pregunta 99"), log.readQuestions(1L));
+        }
+    }
+
+    @Test
+    void growsBeyondInitialMapping() {
+        try (ExamLog log = ExamLog.open(this.directory.resolve("exams.log"))) {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(log);
+            for (int i = 0; i < 5_000; i++) {
+                Exam exam = new Exam(null, "Examen " + i);
+                exam.setQuestions(Data.getQuestions());
+                examRepository.saveExam(exam);
+            }
+
+            assertEquals(5_000, log.size());
+            assertEquals(4_242L, examRepository.findByName("Examen 4241").orElseThrow().getId());
+            assertEquals(10, log.readQuestions(5_000L).size());
+        }
+    }
+
+    @Test
+    void reopeningRestoresIndexesFromSnapshot() {
+        Path file = this.directory.resolve("exams.log");
+        try (ExamLog log = ExamLog.open(file)) {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(log);
+            for (Exam exam : Data.getExams()) {
+                examRepository.saveExam(exam);
+            }
+            Exam exam = Data.getExam();
+            exam.setQuestions(Data.getQuestions());
+            examRepository.saveExam(exam);
+        }
+        assertTrue(Files.exists(this.directory.resolve("exams.log.snapshot")));
+
+        try (ExamLog log = ExamLog.open(file)) {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(log);
+
+            assertTrue(log.isRestoredFromSnapshot());
+            assertEquals(9, log.size());
+            assertEquals(3L, examRepository.findByName("Álgebra").orElseThrow().getId());
+            assertEquals(9L, examRepository.findByName("Docker").orElseThrow().getId());
+            assertTrue(examRepository.findByName("Lenguaje").isEmpty());
+            assertEquals(Data.getQuestions(), log.readQuestions(9L));
+
+            examRepository.saveExam(new Exam(3L, "Álgebra lineal"));
+            examRepository.saveExam(Data.getExamWithoutId());
+
+            assertTrue(examRepository.findByName("Álgebra").isEmpty());
+            assertEquals(3L, examRepository.findByName("Álgebra lineal").orElseThrow().getId());
+            assertEquals(10L, examRepository.findByName("Kubernetes").orElseThrow().getId());
+            assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), log.ids());
+        }
+    }
+
+    @Test
+    void recordsAppendedAfterSnapshotAreReplayed() {
+        Path file = this.directory.resolve("exams.log");
+        ExamLog writer = ExamLog.open(file);
+        try {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(writer);
+            examRepository.saveExam(Data.getExam());
+            writer.writeSnapshot();
+            examRepository.saveExam(Data.getExamWithoutId());
+            writer.force();
+
+            // Simula un reinicio tras una caída: la instantánea no incluye el último registro
+            try (ExamLog log = ExamLog.open(file)) {
+                assertTrue(log.isRestoredFromSnapshot());
+                assertEquals(2, log.size());
+                assertEquals(10L, log.findIdByName("Kubernetes"));
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void findPageMergesSnapshotAndRecentRecords() {
+        Path file = this.directory.resolve("exams.log");
+        try (ExamLog log = ExamLog.open(file)) {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(log);
+            for (int i = 1; i <= 4; i++) {
+                examRepository.saveExam(new Exam((long) i * 2, "Examen " + i));
+            }
+        }
+
+        try (ExamLog log = ExamLog.open(file)) {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(log);
+            examRepository.saveExam(new Exam(5L, "Examen 5"));
+            examRepository.saveExam(new Exam(4L, "Examen 2 renombrado"));
+
+            assertTrue(log.isRestoredFromSnapshot());
+            assertEquals(List.of(2L, 4L, 5L), examRepository.findPage(0L, 3).stream().map(Exam::getId).toList());
+            assertEquals(List.of(6L, 8L), examRepository.findPage(5L, 3).stream().map(Exam::getId).toList());
+            assertEquals("Examen 2 renombrado", examRepository.findPage(2L, 1).get(0).getName());
+        }
+    }
+
+    @Test
+    void questionDeltasAreAppliedAfterExamIsSaved() {
+        Path file = this.directory.resolve("exams.log");
+        try (ExamLog log = ExamLog.open(file)) {
+            IExamService examService = new ExamenServiceImpl(new FileExamRepositoryImpl(log), new FileQuestionRepositoryImpl(log));
+            Exam exam = Data.getExamWithoutId();
+            exam.setQuestions(List.of("Pregunta 1", "Pregunta 2"));
+            Exam examDB = examService.saveExam(exam);
+
+            new FileQuestionRepositoryImpl(log).updateQuestions(examDB.getId(), List.of(
+                    QuestionChange.replace(0, "Pregunta 1 corregida"), QuestionChange.add("Pregunta 3")));
+        }
+
+        try (ExamLog log = ExamLog.open(file)) {
+            FileQuestionRepositoryImpl questionRepository = new FileQuestionRepositoryImpl(log);
+
+            assertEquals(List.of("Pregunta 1 corregida", "Pregunta 2", "Pregunta 3"), questionRepository.findQuestionsByExamId(1L));
+            assertEquals("Kubernetes", log.readExam(1L).getName());
+            assertThrows(NoSuchElementException.class, () -> questionRepository.saveQuestions(99L, List.of("Pregunta 1")));
+        }
+    }
+
+    @Test
+    void saveAllQuestionsWritesEveryExamOrNone() {
+        try (ExamLog log = ExamLog.open(this.directory.resolve("exams.log"))) {
+            FileExamRepositoryImpl examRepository = new FileExamRepositoryImpl(log);
+            FileQuestionRepositoryImpl questionRepository = new FileQuestionRepositoryImpl(log);
+            examRepository.saveExam(new Exam(1L, "Aritmética"));
+            examRepository.saveExam(new Exam(2L, "Geometría"));
+
+            questionRepository.saveAllQuestions(Map.of(1L, List.of("Pregunta 1"), 2L, List.of("Pregunta 2")));
+            long size = log.sizeInBytes();
+
+            assertThrows(NoSuchElementException.class, () -> {
+                questionRepository.saveAllQuestions(Map.of(1L, List.of("Pregunta nueva"), 99L, List.of("Pregunta 99")));
+            });
+            assertEquals(size, log.sizeInBytes());
+            assertEquals(List.of("Pregunta 1"), questionRepository.findQuestionsByExamId(1L));
+            assertEquals(List.of("Pregunta 2"), questionRepository.findQuestionsByExamId(2L));
+            assertEquals("Geometría", log.readExam(2L).getName());
+        }
+    }
+
+    @Test
+    void staleSnapshotFallsBackToFullReload() throws Exception {
+        Path file = this.directory.resolve("exams.log");
+        Path bigger = this.directory.resolve("bigger.log");
+        try (ExamLog log = ExamLog.open(bigger)) {
+            for (Exam exam : Data.getExams()) {
+                log.append(exam);
+            }
+        }
+        try (ExamLog log = ExamLog.open(file)) {
+            log.append(Data.getExam());
+            log.force();
+        }
+        Files.copy(this.directory.resolve("bigger.log.snapshot"), this.directory.resolve("exams.log.snapshot"),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        try (ExamLog log = ExamLog.open(file)) {
+            assertFalse(log.isRestoredFromSnapshot());
+            assertEquals(List.of(9L), log.ids());
+        }
+    }
+
+    @Test
+    void rejectsFilesThatAreNotExamLogs() throws Exception {
+        Path file = this.directory.resolve("other.bin");
+        Files.write(file, new byte[32]);
+
+        assertThrows(UncheckedIOException.class, () -> ExamLog.open(file));
+    }
+}
@@ -0,0 +1,132 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.junit.jupiter.api.Test;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.source.Data;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExamRepositoryImplTest {
+    @Test
+    void saveExamAssignsIdFromSequence() {
+        ExamRepositoryImpl examRepository = new ExamRepositoryImpl();
+
+        Exam examDB = examRepository.saveExam(Data.getExamWithoutId());
+
+        assertEquals(9L, examDB.getId());
+        assertSame(examDB, examRepository.findById(9L).orElseThrow());
+        assertSame(examDB, examRepository.findByName("Kubernetes").orElseThrow());
+        assertEquals(9, examRepository.findAll().size());
+    }
+
+    @Test
+    void findPageWalksIdsWithKeyset() {
+        ExamRepositoryImpl examRepository = new ExamRepositoryImpl();
+
+        List<Exam> first = examRepository.findPage(0L, 3);
+        List<Exam> second = examRepository.findPage(first.get(2).getId(), 3);
+        List<Exam> last = examRepository.findPage(6L, 3);
+
+        assertEquals(List.of(1L, 2L, 3L), first.stream().map(Exam::getId).toList());
+        assertEquals(List.of(4L, 5L, 6L), second.stream().map(Exam::getId).toList());
+        assertEquals(List.of(7L, 8L), last.stream().map(Exam::getId).toList());
+        assertTrue(examRepository.findPage(8L, 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> examRepository.findPage(0L, 0));
+    }
+
+    @Test
+    void findByIdRejectsNullIds() {
+        ExamRepositoryImpl examRepository = new ExamRepositoryImpl();
+
+        assertEquals("Álgebra", examRepository.findById(3L).orElseThrow().getName());
+        assertTrue(examRepository.findById(99L).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> examRepository.findById((Long) null));
+    }
+
+    @Test
+    void sequenceContinuesAfterExplicitIds() {
+        ExamRepositoryImpl examRepository = new ExamRepositoryImpl(List.of(new Exam(100L, "Docker")));
+
+        Exam examDB = examRepository.saveExam(Data.getExamWithoutId());
+
+        assertEquals(101L, examDB.getId());
+    }
+
+    @Test
+    void renamingAnExamUpdatesNameIndex() {
+        ExamRepositoryImpl examRepository = new ExamRepositoryImpl();
+
+        examRepository.saveExam(new Exam(1L, "Aritmética básica"));
+
+        assertTrue(examRepository.findByName("Aritmética").isEmpty());
+        assertEquals(1L, examRepository.findByName("Aritmética básica").orElseThrow().getId());
+        assertEquals(8, examRepository.findAll().size());
+    }
+
+    @Test
+    void concurrentWritersGetUniqueIds() throws Exception {
+        ExamRepositoryImpl examRepository = new ExamRepositoryImpl(List.of());
+        int threads = 8;
+        int examsPerThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    List<Long> ids = new ArrayList<>(examsPerThread);
+                    for (int i = 0; i < examsPerThread; i++) {
+                        ids.add(examRepository.saveExam(new Exam(null, "Examen " + thread + "-" + i)).getId());
+                    }
+                    return ids;
+                }));
+            }
+            Set<Long> ids = new HashSet<>();
+            for (Future<List<Long>> future : futures) {
+                ids.addAll(future.get());
+            }
+
+            assertEquals(threads * examsPerThread, ids.size());
+            assertEquals(threads * examsPerThread, examRepository.findAll().size());
+            assertTrue(examRepository.findByName("Examen 7-999").isPresent());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void findByNameNeverMissesAnExamBeingSavedAgain() throws Exception {
+        ExamRepositoryImpl examRepository = new ExamRepositoryImpl();
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                while (running.get()) {
+                    examRepository.saveExam(new Exam(1L, "Aritmética"));
+                }
+            });
+
+            int misses = 0;
+            for (int i = 0; i < 200_000; i++) {
+                if (examRepository.findByName("Aritmética").isEmpty()) {
+                    misses++;
+                }
+            }
+            running.set(false);
+            writer.get();
+
+            assertEquals(0, misses);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.junit.jupiter.api.Test;
+import org.magadiflo.mockito.app.exceptions.InjectedFaultException;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.services.IExamService;
+import org.magadiflo.mockito.app.services.impl.ExamenServiceImpl;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticExamRepositoryImplTest {
+    private static final int MILLION = 1_000_000;
+
+    @Test
+    void generatesTheSameCatalogOnEveryRead() {
+        SyntheticExamRepositoryImpl examRepository = new SyntheticExamRepositoryImpl(MILLION);
+
+        Exam exam = examRepository.findByName("Examen 765432").orElseThrow();
+
+        assertEquals(765433L, exam.getId());
+        assertEquals("Examen 765432", examRepository.findById(765433L).orElseThrow().getName());
+        assertEquals(MILLION, examRepository.findAll().size());
+        assertEquals("Examen 999999", examRepository.findAll().get(MILLION - 1).getName());
+        assertEquals(List.of(MILLION - 1L, (long) MILLION), examRepository.findPage(MILLION - 2L, 5).stream().map(Exam::getId).toList());
+        assertTrue(examRepository.findByName("Examen 1000000").isEmpty());
+        assertTrue(examRepository.findByName("Examen 007").isEmpty());
+        assertTrue(examRepository.findById(0L).isEmpty());
+    }
+
+    @Test
+    void savedExamsOverlayTheSyntheticCatalog() {
+        SyntheticExamRepositoryImpl examRepository = new SyntheticExamRepositoryImpl(10);
+
+        Exam created = examRepository.saveExam(new Exam(null, "Docker"));
+        Exam renamed = examRepository.saveExam(new Exam(3L, "Kubernetes"));
+
+        assertEquals(11L, created.getId());
+        assertSame(created, examRepository.findByName("Docker").orElseThrow());
+        assertSame(renamed, examRepository.findById(3L).orElseThrow());
+        assertTrue(examRepository.findByName("Examen 2").isEmpty());
+        assertEquals(11, examRepository.findAll().size());
+        assertSame(renamed, examRepository.findAll().get(2));
+        assertSame(created, examRepository.findAll().get(10));
+        assertEquals(11, examRepository.streamAll().count());
+    }
+
+    @Test
+    void syntheticQuestionsAreDeterministicUntilOverwritten() {
+        SyntheticQuestionRepositoryImpl questionRepository = new SyntheticQuestionRepositoryImpl(3);
+
+        assertEquals(List.of("Pregunta 1 del examen 7", "Pregunta 2 del examen 7", "Pregunta 3 del examen 7"),
+                questionRepository.findQuestionsByExamId(7L));
+
+        questionRepository.updateQuestions(7L, List.of(QuestionChange.remove(0), QuestionChange.add("Nueva")));
+        questionRepository.saveQuestions(8L, List.of("Única"));
+
+        assertEquals(List.of("Pregunta 2 del examen 7", "Pregunta 3 del examen 7", "Nueva"), questionRepository.findQuestionsByExamId(7L));
+        assertEquals(List.of("Única"), questionRepository.findQuestionsByExamIds(List.of(8L)).get(8L));
+        assertEquals(List.of(), questionRepository.findQuestionsByExamId(null));
+    }
+
+    @Test
+    void injectsErrorsAtTheConfiguredRate() {
+        FaultInjector faults = FaultInjector.errors(0.25);
+        SyntheticExamRepositoryImpl examRepository = new SyntheticExamRepositoryImpl(100, faults);
+
+        int failures = 0;
+        for (int i = 0; i < 10_000; i++) {
+            try {
+                examRepository.findById(1L);
+            } catch (InjectedFaultException e) {
+                assertEquals("findById", e.getOperation());
+                failures++;
+            }
+        }
+
+        assertEquals(failures, faults.getInjectedFaultCount());
+        assertTrue(failures > 2_000 && failures < 3_000, "Fallos inyectados: " + failures);
+        assertThrows(InjectedFaultException.class, () -> new SyntheticQuestionRepositoryImpl(1, FaultInjector.errors(1.0)).findQuestionsByExamId(1L));
+    }
+
+    @Test
+    void injectsLatencyOnEveryCall() {
+        SyntheticQuestionRepositoryImpl questionRepository = new SyntheticQuestionRepositoryImpl(1, FaultInjector.latency(Duration.ofMillis(20)));
+
+        long start = System.nanoTime();
+        questionRepository.findQuestionsByExamId(1L);
+        questionRepository.saveQuestions(1L, List.of("Pregunta"));
+
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(30).toNanos());
+        assertThrows(IllegalArgumentException.class, () -> new FaultInjector(Duration.ZERO, Duration.ZERO, 1.5));
+    }
+
+    @Test
+    void servesTheServiceLayerAtMillionsScale() {
+        IExamService examService = new ExamenServiceImpl(new SyntheticExamRepositoryImpl(5 * MILLION),
+                new SyntheticQuestionRepositoryImpl(10));
+
+        Exam exam = examService.findExamByNameWithQuestions("Examen 4999999");
+
+        assertEquals(5_000_000L, exam.getId());
+        assertEquals(10, exam.getQuestions().size());
+        assertEquals("Pregunta 10 del examen 5000000", exam.getQuestions().get(9));
+    }
+}
@@ -0,0 +1,226 @@
+package org.magadiflo.mockito.app.repositories.impl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+import org.magadiflo.mockito.app.repositories.impl.WriteBehindQuestionRepositoryImpl.Durability;
+import org.magadiflo.mockito.app.source.Data;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindQuestionRepositoryImplTest {
+    @Mock
+    private IQuestionRepository questionRepository;
+
+    private WriteBehindQuestionRepositoryImpl writeBehindRepository;
+
+    @AfterEach
+    void tearDown() {
+        if (this.writeBehindRepository != null) {
+            this.writeBehindRepository.close();
+        }
+    }
+
+    @Test
+    void ackOnBufferReturnsBeforeTheWriteIsStored() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(this.questionRepository).saveQuestions(anyList());
+        this.writeBehindRepository = new WriteBehindQuestionRepositoryImpl(this.questionRepository, 8, 4,
+                Duration.ofMillis(1), Durability.ACK_ON_BUFFER);
+
+        this.writeBehindRepository.saveQuestions(Data.getQuestions());
+        release.countDown();
+        this.writeBehindRepository.flush();
+
+        verify(this.questionRepository).saveQuestions(Data.getQuestions());
+        assertEquals(0, this.writeBehindRepository.getPendingCount());
+    }
+
+    @Test
+    void writesAreGroupedUpToMaxBatchSize() {
+        this.writeBehindRepository = new WriteBehindQuestionRepositoryImpl(this.questionRepository, 16, 4,
+                Duration.ofMinutes(1), Durability.ACK_ON_BUFFER);
+
+        for (int i = 0; i < 8; i++) {
+            this.writeBehindRepository.saveQuestions(List.of("Pregunta " + i));
+        }
+        this.writeBehindRepository.close();
+
+        assertEquals(2, this.writeBehindRepository.getFlushCount());
+        verify(this.questionRepository, times(8)).saveQuestions(anyList());
+        assertThrows(IllegalStateException.class, () -> this.writeBehindRepository.saveQuestions(List.of("Pregunta 9")));
+    }
+
+    @Test
+    void ackOnFlushWaitsForGroupAndPropagatesFailure() {
+        doThrow(new IllegalStateException("disco lleno")).when(this.questionRepository).saveQuestions(anyList());
+        this.writeBehindRepository = new WriteBehindQuestionRepositoryImpl(this.questionRepository, 8, 4,
+                Duration.ofMillis(1), Durability.ACK_ON_FLUSH);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> {
+            this.writeBehindRepository.saveQuestions(Data.getQuestions());
+        });
+
+        assertEquals("disco lleno", exception.getMessage());
+        assertEquals(1, this.writeBehindRepository.getFailedWriteCount());
+    }
+
+    @Test
+    void fullBufferBlocksWritersUntilFlusherMakesRoom() throws Exception {
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            storing.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(this.questionRepository).saveQuestions(anyList());
+        this.writeBehindRepository = new WriteBehindQuestionRepositoryImpl(this.questionRepository, 1, 1,
+                Duration.ofMillis(1), Durability.ACK_ON_BUFFER);
+
+        this.writeBehindRepository.saveQuestions(List.of("Pregunta 1"));
+        assertTrue(storing.await(5, TimeUnit.SECONDS));
+        this.writeBehindRepository.saveQuestions(List.of("Pregunta 2"));
+        Thread writer = new Thread(() -> this.writeBehindRepository.saveQuestions(List.of("Pregunta 3")));
+        writer.start();
+        while (writer.getState() != Thread.State.WAITING && writer.isAlive()) {
+            Thread.sleep(1);
+        }
+
+        assertTrue(writer.isAlive());
+        release.countDown();
+        writer.join(5000);
+        this.writeBehindRepository.flush();
+
+        assertFalse(writer.isAlive());
+        verify(this.questionRepository, times(3)).saveQuestions(anyList());
+    }
+
+    @Test
+    void readsSeeBufferedExamWritesBeforeTheyAreFlushed() {
+        when(this.questionRepository.findQuestionsByExamId(9L)).thenReturn(List.of("Pregunta 1", "Pregunta 2"));
+        when(this.questionRepository.findQuestionsByExamIds(List.of(11L))).thenReturn(Map.of(11L, List.of("Pregunta 11")));
+        this.writeBehindRepository = new WriteBehindQuestionRepositoryImpl(this.questionRepository, 16, 16,
+                Duration.ofMinutes(1), Durability.ACK_ON_BUFFER);
+
+        this.writeBehindRepository.updateQuestions(9L, List.of(QuestionChange.add("Pregunta 3")));
+        this.writeBehindRepository.saveQuestions(10L, List.of("Pregunta A"));
+        this.writeBehindRepository.updateQuestions(10L, List.of(QuestionChange.replace(0, "Pregunta B")));
+
+        assertEquals(3, this.writeBehindRepository.getPendingCount());
+        assertEquals(List.of("Pregunta 1", "Pregunta 2", "Pregunta 3"), this.writeBehindRepository.findQuestionsByExamId(9L));
+        assertEquals(Map.of(9L, List.of("Pregunta 1", "Pregunta 2", "Pregunta 3"), 10L, List.of("Pregunta B"),
+                11L, List.of("Pregunta 11")), this.writeBehindRepository.findQuestionsByExamIds(List.of(9L, 10L, 11L)));
+
+        this.writeBehindRepository.flush();
+
+        // Ya volcadas, las lecturas vuelven al repositorio decorado
+        assertEquals(List.of("Pregunta 1", "Pregunta 2"), this.writeBehindRepository.findQuestionsByExamId(9L));
+        verify(this.questionRepository).updateQuestions(9L, List.of(QuestionChange.add("Pregunta 3")));
+        verify(this.questionRepository).saveAllQuestions(Map.of(10L, List.of("Pregunta A")));
+        verify(this.questionRepository, never()).findQuestionsByExamId(10L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bufferedExamWritesAreFlushedWithOneCall() {
+        this.writeBehindRepository = new WriteBehindQuestionRepositoryImpl(this.questionRepository, 16, 16,
+                Duration.ofMinutes(1), Durability.ACK_ON_BUFFER);
+
+        for (long examId = 1; examId <= 8; examId++) {
+            this.writeBehindRepository.saveQuestions(examId, List.of("Pregunta " + examId));
+        }
+        this.writeBehindRepository.flush();
+
+        ArgumentCaptor<Map<Long, List<String>>> groups = ArgumentCaptor.forClass(Map.class);
+        verify(this.questionRepository, times(1)).saveAllQuestions(groups.capture());
+        assertEquals(8, groups.getValue().size());
+        assertEquals(List.of("Pregunta 8"), groups.getValue().get(8L));
+        verify(this.questionRepository, never()).saveQuestions(anyLong(), anyList());
+        assertEquals(1, this.writeBehindRepository.getFlushCount());
+    }
+
+    @Test
+    void examUpdatesSplitGroupedSavesAndKeepTheirOrder() {
+        this.writeBehindRepository = new WriteBehindQuestionRepositoryImpl(this.questionRepository, 16, 16,
+                Duration.ofMinutes(1), Durability.ACK_ON_BUFFER);
+
+        this.writeBehindRepository.saveQuestions(1L, List.of("Pregunta 1"));
+        this.writeBehindRepository.saveQuestions(2L, List.of("Pregunta 2"));
+        this.writeBehindRepository.saveQuestions(1L, List.of("Pregunta 1 corregida"));
+        this.writeBehindRepository.updateQuestions(2L, List.of(QuestionChange.add("Pregunta 3")));
+        this.writeBehindRepository.saveQuestions(3L, List.of("Pregunta 4"));
+        this.writeBehindRepository.flush();
+
+        InOrder inOrder = inOrder(this.questionRepository);
+        inOrder.verify(this.questionRepository).saveAllQuestions(Map.of(1L, List.of("Pregunta 1 corregida"), 2L, List.of("Pregunta 2")));
+        inOrder.verify(this.questionRepository).updateQuestions(2L, List.of(QuestionChange.add("Pregunta 3")));
+        inOrder.verify(this.questionRepository).saveAllQuestions(Map.of(3L, List.of("Pregunta 4")));
+    }
+
+    @Test
+    void callerMayModifyItsListsAfterWriting() {
+        when(this.questionRepository.findQuestionsByExamId(2L)).thenReturn(List.of("Pregunta 1"));
+        this.writeBehindRepository = new WriteBehindQuestionRepositoryImpl(this.questionRepository, 16, 16,
+                Duration.ofMinutes(1), Durability.ACK_ON_BUFFER);
+        List<String> questions = new ArrayList<>(List.of("Pregunta A"));
+        List<String> examQuestions = new ArrayList<>(List.of("Pregunta B"));
+        List<QuestionChange> changes = new ArrayList<>(List.of(QuestionChange.add("Pregunta C")));
+
+        this.writeBehindRepository.saveQuestions(questions);
+        this.writeBehindRepository.saveQuestions(1L, examQuestions);
+        this.writeBehindRepository.updateQuestions(2L, changes);
+        questions.add("Pregunta agregada después");
+        examQuestions.set(0, "Pregunta reemplazada después");
+        changes.clear();
+
+        assertEquals(List.of("Pregunta B"), this.writeBehindRepository.findQuestionsByExamId(1L));
+        this.writeBehindRepository.flush();
+
+        verify(this.questionRepository).saveQuestions(List.of("Pregunta A"));
+        verify(this.questionRepository).saveAllQuestions(Map.of(1L, List.of("Pregunta B")));
+        verify(this.questionRepository).updateQuestions(2L, List.of(QuestionChange.add("Pregunta C")));
+    }
+
+    @Test
+    void flusherErrorClosesRepositoryAndFailsPendingWrites() throws Exception {
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        OutOfMemoryError error = new OutOfMemoryError("memoria agotada");
+        doAnswer(invocation -> {
+            storing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            throw error;
+        }).when(this.questionRepository).saveQuestions(anyList());
+        this.writeBehindRepository = new WriteBehindQuestionRepositoryImpl(this.questionRepository, 8, 1,
+                Duration.ofMillis(1), Durability.ACK_ON_BUFFER);
+
+        this.writeBehindRepository.saveQuestions(List.of("Pregunta 1"));
+        assertTrue(storing.await(5, TimeUnit.SECONDS));
+        this.writeBehindRepository.saveQuestions(List.of("Pregunta 2"));
+        release.countDown();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> this.writeBehindRepository.flush());
+
+        assertSame(error, exception.getCause());
+        assertEquals(2, this.writeBehindRepository.getFailedWriteCount());
+        assertEquals(0, this.writeBehindRepository.getPendingCount());
+        assertSame(error, assertThrows(IllegalStateException.class, () -> {
+            this.writeBehindRepository.saveQuestions(List.of("Pregunta 3"));
+        }).getCause());
+        verify(this.questionRepository, times(1)).saveQuestions(anyList());
+    }
+}
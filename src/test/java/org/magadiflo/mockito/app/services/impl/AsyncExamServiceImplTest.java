@@ -0,0 +1,142 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.repositories.IExamRepository;
+import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+import org.magadiflo.mockito.app.source.Data;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncExamServiceImplTest {
+    @Mock
+    private IExamRepository examRepository;
+    @Mock
+    private IQuestionRepository questionRepository;
+
+    private AsyncExamServiceImpl examService;
+
+    @BeforeEach
+    void setUp() {
+        this.examService = new AsyncExamServiceImpl(this.examRepository, this.questionRepository);
+    }
+
+    @Test
+    void findExamByNameWithQuestionsAsync() {
+        when(this.examRepository.findByName("Geometría")).thenReturn(Optional.of(Data.getExams().get(1)));
+        when(this.questionRepository.findQuestionsByExamId(2L)).thenReturn(Data.getQuestions());
+
+        Exam exam = this.examService.findExamByNameWithQuestionsAsync("Geometría").join();
+
+        assertEquals(2L, exam.getId());
+        assertEquals(10, exam.getQuestions().size());
+    }
+
+    @Test
+    void findExamByNameWithQuestionsAsyncCompletesExceptionallyIfNotExistsExam() {
+        when(this.examRepository.findByName("Lenguaje")).thenReturn(Optional.empty());
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            this.examService.findExamByNameWithQuestionsAsync("Lenguaje").join();
+        });
+
+        assertInstanceOf(NoSuchElementException.class, exception.getCause());
+        assertEquals("¡No existe el exam Lenguaje buscado!", exception.getCause().getMessage());
+        verifyNoInteractions(this.questionRepository);
+    }
+
+    @Test
+    void saveExamAsyncSavesQuestionsWithAssignedId() {
+        Exam exam = Data.getExamWithoutId();
+        exam.setQuestions(Data.getQuestions());
+        doAnswer(invocation -> {
+            Exam examDB = invocation.getArgument(0);
+            examDB.setId(10L);
+            return examDB;
+        }).when(this.examRepository).saveExam(any(Exam.class));
+
+        Exam examDB = this.examService.saveExamAsync(exam).join();
+
+        assertEquals(10L, examDB.getId());
+        InOrder inOrder = inOrder(this.examRepository, this.questionRepository);
+        inOrder.verify(this.examRepository).saveExam(any(Exam.class));
+        inOrder.verify(this.questionRepository).saveQuestions(10L, Data.getQuestions());
+        verify(this.questionRepository, never()).saveQuestions(anyList());
+    }
+
+    @Test
+    void saveExamAsyncWithoutQuestions() {
+        when(this.examRepository.saveExam(any(Exam.class))).thenReturn(Data.getExam());
+
+        Exam examDB = this.examService.saveExamAsync(Data.getExam()).join();
+
+        assertEquals(9L, examDB.getId());
+        verifyNoInteractions(this.questionRepository);
+    }
+
+    @Test
+    void saveExamAsyncFailsIfSaveQuestionsFails() {
+        Exam exam = Data.getExamWithoutId();
+        exam.setQuestions(Data.getQuestions());
+        when(this.examRepository.saveExam(any(Exam.class))).thenReturn(Data.getExam());
+        doThrow(IllegalArgumentException.class).when(this.questionRepository).saveQuestions(anyLong(), anyList());
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            this.examService.saveExamAsync(exam).join();
+        });
+
+        assertEquals(IllegalArgumentException.class, exception.getCause().getClass());
+    }
+
+    @Test
+    void saveExamsAsyncPipelinesBatches() {
+        List<Exam> exams = new ArrayList<>();
+        for (long i = 1; i <= 6; i++) {
+            Exam exam = new Exam(null, "Examen " + i);
+            exam.setQuestions(Data.getQuestions());
+            exams.add(exam);
+        }
+        List<String> writes = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong sequence = new AtomicLong();
+        doAnswer(invocation -> {
+            Map<Long, List<String>> questionsByExamId = invocation.getArgument(0);
+            questionsByExamId.keySet().forEach(examId -> writes.add("questions:" + examId));
+            return null;
+        }).when(this.questionRepository).saveAllQuestions(anyMap());
+        when(this.examRepository.saveExams(anyList())).then(invocation -> {
+            List<Exam> batch = invocation.getArgument(0);
+            batch.forEach(exam -> exam.setId(sequence.incrementAndGet()));
+            writes.add("exams:" + batch.get(0).getName());
+            return batch;
+        });
+
+        this.examService.setBatchSize(2);
+        List<Exam> examsDB = this.examService.saveExamsAsync(exams).join();
+
+        assertEquals(exams, examsDB);
+        assertEquals(List.of("exams:Examen 1", "exams:Examen 3", "exams:Examen 5"),
+                writes.stream().filter(write -> write.startsWith("exams")).toList());
+        assertEquals(List.of("questions:1", "questions:2", "questions:3", "questions:4", "questions:5", "questions:6"),
+                writes.stream().filter(write -> write.startsWith("questions")).toList());
+        assertTrue(writes.indexOf("questions:5") > writes.indexOf("exams:Examen 5"));
+        verify(this.questionRepository, times(3)).saveAllQuestions(anyMap());
+        verify(this.questionRepository, never()).saveQuestions(anyLong(), anyList());
+        verify(this.examRepository, times(3)).saveExams(anyList());
+    }
+}
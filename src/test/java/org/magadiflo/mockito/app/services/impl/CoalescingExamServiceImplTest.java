@@ -0,0 +1,103 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
+import org.magadiflo.mockito.app.services.IExamService;
+import org.magadiflo.mockito.app.source.Data;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingExamServiceImplTest {
+    @Mock
+    private IExamService examService;
+
+    @InjectMocks
+    private CoalescingExamServiceImpl coalescingExamService;
+
+    @Test
+    void concurrentLookupsOfSameNameCallDelegateOnce() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.examService.findExamWithQuestions("Aritmética")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ExamWithQuestions.of(Data.getExams().get(0), Data.getQuestions());
+        });
+
+        CompletableFuture<Exam> first = CompletableFuture.supplyAsync(() -> this.coalescingExamService.findExamByNameWithQuestions("Aritmética"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread second = new Thread(() -> this.coalescingExamService.findExamByNameWithQuestions("Aritmética"));
+        second.start();
+        while (second.getState() != Thread.State.WAITING && second.isAlive()) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        second.join(5000);
+
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getId());
+        verify(this.examService, times(1)).findExamWithQuestions("Aritmética");
+    }
+
+    @Test
+    void coalescedCallersGetTheirOwnExam() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(this.examService.findExamWithQuestions("Aritmética")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ExamWithQuestions.of(Data.getExams().get(0), Data.getQuestions());
+        });
+
+        CompletableFuture<Exam> first = CompletableFuture.supplyAsync(() -> this.coalescingExamService.findExamByNameWithQuestions("Aritmética"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Exam> second = new CompletableFuture<>();
+        Thread waiter = new Thread(() -> second.complete(this.coalescingExamService.findExamByNameWithQuestions("Aritmética")));
+        waiter.start();
+        while (waiter.getState() != Thread.State.WAITING && waiter.isAlive()) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        Exam firstExam = first.get(5, TimeUnit.SECONDS);
+        Exam secondExam = second.get(5, TimeUnit.SECONDS);
+        firstExam.setName("Aritmética modificada");
+
+        assertNotSame(firstExam, secondExam);
+        assertEquals("Aritmética", secondExam.getName());
+        assertEquals(Data.getQuestions(), secondExam.getQuestions());
+        verify(this.examService, times(1)).findExamWithQuestions("Aritmética");
+    }
+
+    @Test
+    void sequentialLookupsAreNotCached() {
+        when(this.examService.findExamByNameOrNull("Aritmética")).thenReturn(Data.getExams().get(0));
+
+        this.coalescingExamService.findExamByName("Aritmética");
+        this.coalescingExamService.findExamByName("Aritmética");
+
+        verify(this.examService, times(2)).findExamByNameOrNull("Aritmética");
+    }
+
+    @Test
+    void missIsPropagated() {
+        when(this.examService.findExamWithQuestions("Lenguaje")).thenThrow(new NoSuchElementException("¡No existe el exam Lenguaje buscado!"));
+
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> {
+            this.coalescingExamService.findExamByNameWithQuestions("Lenguaje");
+        });
+
+        assertEquals("¡No existe el exam Lenguaje buscado!", exception.getMessage());
+    }
+}
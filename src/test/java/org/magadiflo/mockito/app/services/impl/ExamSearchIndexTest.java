@@ -0,0 +1,69 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.repositories.impl.ExamRepositoryImpl;
+import org.magadiflo.mockito.app.source.Data;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExamSearchIndexTest {
+    private final ExamenServiceImpl examService = new ExamenServiceImpl(new ExamRepositoryImpl(), null);
+
+    @Test
+    void searchIgnoresAccentsAndCase() {
+        assertEquals(List.of("Álgebra"), namesOf(this.examService.searchExams("algebra", 10)));
+        assertEquals(List.of("Trigonometría"), namesOf(this.examService.searchExams("TRIGO", 10)));
+        assertEquals(List.of("Geometría"), namesOf(this.examService.searchExams("geometria", 10)));
+    }
+
+    @Test
+    void searchMatchesPrefixOfAnyWord() {
+        assertEquals(List.of("Bases de Datos", "Estructura de datos"), namesOf(this.examService.searchExams("dat", 10)));
+        assertEquals(List.of("Bases de Datos"), namesOf(this.examService.searchExams("de datos", 1)));
+        assertTrue(this.examService.searchExams("python", 10).isEmpty());
+        assertTrue(this.examService.searchExams("  ", 10).isEmpty());
+    }
+
+    @Test
+    void saveExamUpdatesIndex() {
+        this.examService.searchExams("a", 1);
+        Exam exam = Data.getExamWithoutId();
+
+        this.examService.saveExam(exam);
+        exam.setName("Kubernetes Avanzado");
+        this.examService.saveExam(exam);
+
+        assertEquals(List.of("Kubernetes Avanzado"), namesOf(this.examService.searchExams("avan", 10)));
+        assertEquals(1, this.examService.searchExams("kube", 10).size());
+    }
+
+    @Test
+    void indexIsBuiltOnceOnFirstSearch() {
+        AtomicInteger builds = new AtomicInteger();
+        ExamSearchIndex index = new ExamSearchIndex(() -> {
+            builds.incrementAndGet();
+            return Data.getExams().stream();
+        });
+
+        index.add(new Exam(100L, "Física"));
+        index.search("fisica", 5);
+        index.search("quimica", 5);
+
+        assertEquals(1, builds.get());
+        assertEquals(Data.getExams().size(), index.size());
+        assertThrows(IllegalArgumentException.class, () -> index.search("fisica", 0));
+    }
+
+    @Test
+    void normalize() {
+        assertEquals("programacion orientada a objetos", ExamSearchIndex.normalize("  Programación-Orientada a OBJETOS "));
+    }
+
+    private static List<String> namesOf(List<Exam> exams) {
+        return exams.stream().map(Exam::getName).toList();
+    }
+}
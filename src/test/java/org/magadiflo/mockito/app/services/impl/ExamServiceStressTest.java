@@ -0,0 +1,208 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.junit.jupiter.api.Test;
+import org.magadiflo.mockito.app.metrics.Histogram;
+import org.magadiflo.mockito.app.metrics.SimpleMetricsRegistry;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.QuestionChange;
+import org.magadiflo.mockito.app.repositories.impl.ExamRepositoryImpl;
+import org.magadiflo.mockito.app.repositories.impl.QuestionRepositoryImpl;
+import org.magadiflo.mockito.app.services.IExamService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga del servicio con los repositorios reales desde muchos hilos (virtuales si la JVM los tiene).
+ * Un escritor reescribe las preguntas del mismo examen con versiones crecientes, alternando {@code saveExam},
+ * {@code saveQuestions} y {@code updateQuestions}, y los lectores comprueban con {@code findExamByNameWithQuestions}
+ * que nunca ven una lista de preguntas mezclada ni una versión anterior a la última escritura terminada antes de
+ * su lectura. Otro escritor renombra un examen con nombres crecientes y los lectores comprueban que, terminado un
+ * renombre, el nombre anterior ya no se encuentra. Los resultados de rendimiento van en los mensajes de las aserciones.
+ * <p>
+ * La duración y el piso de operaciones por segundo se ajustan con {@code -Dstress.durationMillis} y
+ * {@code -Dstress.minOpsPerSecond}.
+ */
+class ExamServiceStressTest {
+    private static final long DURATION_MILLIS = Long.getLong("stress.durationMillis", 500);
+    private static final long MIN_OPS_PER_SECOND = Long.getLong("stress.minOpsPerSecond", 1000);
+    private static final int CATALOG_SIZE = 200;
+    private static final int READERS = 32;
+    private static final int WRITERS = 4;
+    private static final int QUESTIONS_PER_VERSION = 5;
+    private static final String HOT_EXAM = "Concurrente";
+    private static final String RENAMED_EXAM = "Renombrado ";
+
+    @Test
+    void mixedReadWriteWorkloadIsLinearizable() throws Exception {
+        List<Exam> catalog = new ArrayList<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            catalog.add(new Exam((long) i + 1, "Examen " + i));
+        }
+        ExamRepositoryImpl examRepository = new ExamRepositoryImpl(catalog);
+        QuestionRepositoryImpl questionRepository = new QuestionRepositoryImpl();
+        SimpleMetricsRegistry registry = new SimpleMetricsRegistry();
+        IExamService examService = new InstrumentedExamServiceImpl(new ExamenServiceImpl(examRepository, questionRepository), registry);
+
+        long hotId = examService.saveExam(versioned(null, 0)).getId();
+        long renamedId = examService.saveExam(new Exam(null, RENAMED_EXAM + 0)).getId();
+        AtomicLong lastWritten = new AtomicLong();
+        AtomicLong lastRenamed = new AtomicLong();
+        Queue<String> violations = new ConcurrentLinkedQueue<>();
+        LongAdder operations = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DURATION_MILLIS);
+
+        ExecutorService executor = (ExecutorService) AsyncExamServiceImpl.defaultExecutor();
+        List<Future<List<String>>> writers = new ArrayList<>();
+        List<Future<?>> others = new ArrayList<>();
+        try {
+            others.add(executor.submit(() -> {
+                for (long version = 1; System.nanoTime() < deadline; version++) {
+                    switch ((int) (version % 3)) {
+                        case 0 -> examService.saveExam(versioned(hotId, version));
+                        case 1 -> questionRepository.saveQuestions(hotId, questionsOf(version));
+                        default -> questionRepository.updateQuestions(hotId, changesTo(version));
+                    }
+                    lastWritten.set(version);
+                    operations.increment();
+                }
+            }));
+            others.add(executor.submit(() -> {
+                for (long version = 1; System.nanoTime() < deadline; version++) {
+                    examService.saveExam(new Exam(renamedId, RENAMED_EXAM + version));
+                    lastRenamed.set(version);
+                    operations.increment();
+                }
+            }));
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(executor.submit(() -> {
+                    List<String> saved = new ArrayList<>();
+                    for (int i = 0; System.nanoTime() < deadline; i++) {
+                        Exam exam = new Exam(null, "Nuevo " + writer + "-" + i);
+                        exam.setQuestions(List.of("Pregunta " + i));
+                        examService.saveExam(exam);
+                        saved.add(exam.getName());
+                        operations.increment();
+                    }
+                    return saved;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                SplittableRandom random = new SplittableRandom(r);
+                others.add(executor.submit(() -> {
+                    long lastSeen = 0;
+                    while (System.nanoTime() < deadline) {
+                        String name = "Examen " + random.nextInt(CATALOG_SIZE);
+                        if (examService.findExamByName(name).isEmpty()) {
+                            violations.add("No se encontró " + name);
+                        }
+                        long writtenBefore = lastWritten.get();
+                        Exam hot = examService.findExamByNameWithQuestions(HOT_EXAM);
+                        long version = versionOf(hot);
+                        if (version < 0) {
+                            violations.add("Preguntas mezcladas: " + hot.getQuestions());
+                        } else if (version < writtenBefore || version < lastSeen) {
+                            violations.add("Versión " + version + " leída después de escribir " + writtenBefore + " y ver " + lastSeen);
+                        } else {
+                            lastSeen = version;
+                        }
+                        long renamedBefore = lastRenamed.get();
+                        examService.findExamByNameOrNull(RENAMED_EXAM + renamedBefore);
+                        if (renamedBefore > 0 && examService.findExamByNameOrNull(RENAMED_EXAM + (renamedBefore - 1)) != null) {
+                            violations.add("Nombre anterior encontrado tras el renombre " + renamedBefore);
+                        }
+                        operations.add(4);
+                    }
+                }));
+            }
+            for (Future<?> other : others) {
+                other.get(DURATION_MILLIS + 30_000, TimeUnit.MILLISECONDS);
+            }
+            int savedByWriters = 0;
+            for (Future<List<String>> writer : writers) {
+                for (String name : writer.get(DURATION_MILLIS + 30_000, TimeUnit.MILLISECONDS)) {
+                    if (examRepository.findByName(name).isEmpty()) {
+                        violations.add("Escritura perdida: " + name);
+                    }
+                    savedByWriters++;
+                }
+            }
+
+            String summary = summary(operations.sum() * 1000.0 / DURATION_MILLIS, registry);
+            assertEquals(List.of(), List.copyOf(violations).subList(0, Math.min(violations.size(), 10)), summary);
+            assertEquals(CATALOG_SIZE + 2 + savedByWriters, examRepository.findAll().size(), summary);
+            assertEquals(lastWritten.get(), versionOf(examService.findExamByNameWithQuestions(HOT_EXAM)), summary);
+            assertTrue(operations.sum() * 1000.0 / DURATION_MILLIS >= MIN_OPS_PER_SECOND,
+                    "Rendimiento por debajo del piso de " + MIN_OPS_PER_SECOND + " ops/s. " + summary);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String summary(double opsPerSecond, SimpleMetricsRegistry registry) {
+        Histogram reads = registry.histogram("exam.service.findExamByNameWithQuestions");
+        Histogram writes = registry.histogram("exam.service.saveExam");
+        return String.format("%.0f ops/s | findExamByNameWithQuestions p50=%dus p99=%dus p99.9=%dus | saveExam p50=%dus p99=%dus p99.9=%dus",
+                opsPerSecond,
+                micros(reads, 50), micros(reads, 99), micros(reads, 99.9),
+                micros(writes, 50), micros(writes, 99), micros(writes, 99.9));
+    }
+
+    private static Exam versioned(Long id, long version) {
+        Exam exam = new Exam(id, HOT_EXAM);
+        exam.setQuestions(questionsOf(version));
+        return exam;
+    }
+
+    private static List<String> questionsOf(long version) {
+        String[] questions = new String[QUESTIONS_PER_VERSION];
+        for (int i = 0; i < questions.length; i++) {
+            questions[i] = "v" + version + " pregunta " + (i + 1);
+        }
+        return List.of(questions);
+    }
+
+    /**
+     * Cambios que llevan cualquier versión completa a {@code version}, reemplazando las preguntas de una en una.
+     */
+    private static List<QuestionChange> changesTo(long version) {
+        List<String> questions = questionsOf(version);
+        List<QuestionChange> changes = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            changes.add(QuestionChange.replace(i, questions.get(i)));
+        }
+        return changes;
+    }
+
+    /**
+     * Versión común a todas las preguntas del examen, o -1 si la lista está incompleta o mezcla versiones.
+     */
+    private static long versionOf(Exam exam) {
+        List<String> questions = exam.getQuestions();
+        if (questions.size() != QUESTIONS_PER_VERSION) {
+            return -1;
+        }
+        String prefix = questions.get(0).substring(0, questions.get(0).indexOf(' '));
+        for (String question : questions) {
+            if (!question.startsWith(prefix + " ")) {
+                return -1;
+            }
+        }
+        return Long.parseLong(prefix.substring(1));
+    }
+
+    private static long micros(Histogram histogram, double percentile) {
+        return TimeUnit.NANOSECONDS.toMicros(histogram.getPercentile(percentile));
+    }
+}
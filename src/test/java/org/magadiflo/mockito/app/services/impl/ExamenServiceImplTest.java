@@ -4,9 +4,15 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.magadiflo.mockito.app.exceptions.ExamNotFoundException;
+import org.magadiflo.mockito.app.metrics.StageTrace;
+import org.magadiflo.mockito.app.metrics.StageTracer;
 import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.models.ExamWithQuestions;
 import org.magadiflo.mockito.app.repositories.IExamRepository;
 import org.magadiflo.mockito.app.repositories.IQuestionRepository;
+import org.magadiflo.mockito.app.repositories.impl.ExamRepositoryImpl;
+import org.magadiflo.mockito.app.repositories.impl.QuestionRepositoryImpl;
 import org.magadiflo.mockito.app.source.Data;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
@@ -16,9 +22,19 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -38,7 +54,7 @@ class ExamenServiceImplTest {
 
     @Test
     void findExamByName() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         Optional<Exam> optionalExam = this.examService.findExamByName("Aritmética");
 
@@ -51,16 +67,41 @@ class ExamenServiceImplTest {
     @DisplayName("Retorna un optional vacío ya que no existe ningún elemento en la lista")
     void findExamByNameReturnOptionalEmpty() {
         List<Exam> exams = List.of();
-        when(this.examRepository.findAll()).thenReturn(exams);
+        this.givenCatalog(exams);
 
         Optional<Exam> optionalExam = this.examService.findExamByName("Aritmética");
 
         assertTrue(optionalExam.isEmpty());
     }
 
+    @Test
+    void findExamByNameOrNull() {
+        this.givenCatalog(Data.getExams());
+
+        Exam exam = this.examService.findExamByNameOrNull("Aritmética");
+        Exam notFound = this.examService.findExamByNameOrNull("Lenguaje");
+
+        assertEquals(1L, exam.getId());
+        assertNull(notFound);
+    }
+
+    @Test
+    void findExamByNameUsesRepositoryIndex() {
+        when(this.examRepository.findByName("Geometría")).thenReturn(Optional.of(Data.getExams().get(1)));
+
+        Optional<Exam> found = this.examService.findExamByName("Geometría");
+        Exam notFound = this.examService.findExamByNameOrNull("Lenguaje");
+
+        assertEquals(2L, found.orElseThrow().getId());
+        assertNull(notFound);
+        verify(this.examRepository).findByName("Lenguaje");
+        verify(this.examRepository, never()).findAll();
+        verify(this.examRepository, never()).streamAll();
+    }
+
     @Test
     void findExamByNameWithQuestions() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
         when(this.questionRepository.findQuestionsByExamId(anyLong())).thenReturn(Data.getQuestions());
 
         Exam exam = this.examService.findExamByNameWithQuestions("Geometría");
@@ -71,19 +112,19 @@ class ExamenServiceImplTest {
 
     @Test
     void throwNoSuchElementExceptionIfNotExistsExam() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> {
             this.examService.findExamByNameWithQuestions("Lenguaje");
         });
 
-        assertEquals(NoSuchElementException.class, exception.getClass());
+        assertInstanceOf(NoSuchElementException.class, exception);
         assertEquals("¡No existe el exam Lenguaje buscado!", exception.getMessage());
     }
 
     @Test
     void findExamByNameWithQuestionsUsingVerify() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
         when(this.questionRepository.findQuestionsByExamId(anyLong())).thenReturn(Data.getQuestions());
 
         Exam exam = this.examService.findExamByNameWithQuestions("Geometría");
@@ -91,25 +132,69 @@ class ExamenServiceImplTest {
         assertEquals(10, exam.getQuestions().size());
         assertTrue(exam.getQuestions().contains("Pregunta 10"));
 
-        verify(this.examRepository).findAll();
+        verify(this.examRepository).findByName("Geometría");
         verify(this.questionRepository).findQuestionsByExamId(anyLong());
     }
 
     @Test
     void throwNoSuchElementExceptionIfNotExistsExamUsingVerify() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> {
             this.examService.findExamByNameWithQuestions("Lenguaje");
         });
 
-        assertEquals(NoSuchElementException.class, exception.getClass());
+        assertInstanceOf(NoSuchElementException.class, exception);
         assertEquals("¡No existe el exam Lenguaje buscado!", exception.getMessage());
 
-        verify(this.examRepository).findAll();
+        verify(this.examRepository).findByName("Lenguaje");
         verify(this.questionRepository, never()).findQuestionsByExamId(anyLong());
     }
 
+    @Test
+    void missWithoutStackTrace() {
+        this.givenCatalog(Data.getExams());
+        this.examService.setFillInStackTrace(false);
+
+        ExamNotFoundException exception = assertThrows(ExamNotFoundException.class, () -> {
+            this.examService.findExamByNameWithQuestions("Lenguaje");
+        });
+
+        assertEquals("Lenguaje", exception.getName());
+        assertEquals("¡No existe el exam Lenguaje buscado!", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
+    @Test
+    void findExamsByNamesWithQuestions() {
+        when(this.examRepository.findByNames(anyCollection())).thenReturn(List.of(Data.getExams().get(0), Data.getExams().get(1)));
+        when(this.questionRepository.findQuestionsByExamIds(anyCollection())).thenReturn(Map.of(1L, Data.getQuestions(), 2L, Data.getQuestions()));
+
+        List<Exam> exams = this.examService.findExamsByNamesWithQuestions(List.of("Geometría", "Aritmética", "Lenguaje"));
+
+        assertEquals(2, exams.size());
+        assertEquals("Geometría", exams.get(0).getName());
+        assertEquals(10, exams.get(1).getQuestions().size());
+
+        verify(this.examRepository).findByNames(Set.of("Geometría", "Aritmética", "Lenguaje"));
+        verify(this.examRepository, never()).findAll();
+        verify(this.examRepository, never()).streamAll();
+        verify(this.questionRepository).findQuestionsByExamIds(List.of(2L, 1L));
+        verify(this.questionRepository, never()).findQuestionsByExamId(anyLong());
+    }
+
+    @Test
+    void findExamsByNamesWithQuestionsResolvesEachNameOnce() {
+        when(this.examRepository.findByNames(anyCollection())).thenReturn(List.of(Data.getExams().get(1)));
+        when(this.questionRepository.findQuestionsByExamIds(anyCollection())).thenReturn(Map.of());
+
+        List<Exam> exams = this.examService.findExamsByNamesWithQuestions(Arrays.asList("Geometría", null, "Geometría"));
+
+        assertEquals(List.of(2L), exams.stream().map(Exam::getId).toList());
+        verify(this.examRepository).findByNames(Set.of("Geometría"));
+        verify(this.questionRepository).findQuestionsByExamIds(List.of(2L));
+    }
+
     @Test
     void saveExamWithoutQuestions() {
         when(this.examRepository.saveExam(any(Exam.class))).thenReturn(Data.getExam());
@@ -120,7 +205,7 @@ class ExamenServiceImplTest {
         assertEquals("Docker", examDB.getName());
 
         verify(this.examRepository).saveExam(any(Exam.class));
-        verify(this.questionRepository, never()).saveQuestions(anyList());
+        verify(this.questionRepository, never()).saveQuestions(anyLong(), anyList());
     }
 
     @Test
@@ -129,7 +214,7 @@ class ExamenServiceImplTest {
         exam.setQuestions(Data.getQuestions());
 
         when(this.examRepository.saveExam(any(Exam.class))).thenReturn(exam);
-        doNothing().when(this.questionRepository).saveQuestions(anyList());
+        doNothing().when(this.questionRepository).saveQuestions(anyLong(), anyList());
 
         Exam examDB = this.examService.saveExam(exam);
 
@@ -138,7 +223,104 @@ class ExamenServiceImplTest {
         assertEquals("Docker", examDB.getName());
 
         verify(this.examRepository).saveExam(any(Exam.class));
-        verify(this.questionRepository).saveQuestions(anyList());
+        verify(this.questionRepository).saveQuestions(anyLong(), anyList());
+    }
+
+    @Test
+    void savedQuestionsCanBeReadBack() {
+        ExamenServiceImpl examService = new ExamenServiceImpl(new ExamRepositoryImpl(), new QuestionRepositoryImpl());
+        Exam exam = Data.getExamWithoutId();
+        exam.setQuestions(Data.getQuestions());
+
+        examService.saveExam(exam);
+
+        assertEquals(Data.getQuestions(), examService.findExamByNameWithQuestions("Kubernetes").getQuestions());
+    }
+
+    @Test
+    void questionRepositoryRejectsNullExamId() {
+        QuestionRepositoryImpl questionRepository = new QuestionRepositoryImpl();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            questionRepository.findQuestionsByExamId(null);
+        });
+
+        assertEquals("El id del examen es obligatorio", exception.getMessage());
+    }
+
+    @Test
+    void saveExamsInBatches() {
+        List<Exam> exams = new ArrayList<>();
+        for (long i = 1; i <= 5; i++) {
+            Exam exam = new Exam(null, "Examen " + i);
+            if (i != 4) {
+                exam.setQuestions(Data.getQuestions());
+            }
+            exams.add(exam);
+        }
+        AtomicLong sequence = new AtomicLong();
+        when(this.examRepository.saveExams(anyList())).then(invocation -> {
+            List<Exam> batch = invocation.getArgument(0);
+            batch.forEach(exam -> exam.setId(sequence.incrementAndGet()));
+            return batch;
+        });
+
+        this.examService.setBatchSize(2);
+        List<Exam> examsDB = this.examService.saveExams(exams);
+
+        assertEquals(5, examsDB.size());
+        assertEquals("Examen 5", examsDB.get(4).getName());
+        verify(this.examRepository, times(3)).saveExams(anyList());
+        verify(this.questionRepository).saveAllQuestions(Map.of(1L, Data.getQuestions(), 2L, Data.getQuestions()));
+        verify(this.questionRepository).saveAllQuestions(Map.of(3L, Data.getQuestions()));
+        verify(this.questionRepository).saveAllQuestions(Map.of(5L, Data.getQuestions()));
+        verify(this.questionRepository, times(3)).saveAllQuestions(anyMap());
+        verify(this.examRepository, never()).saveExam(any(Exam.class));
+        verify(this.questionRepository, never()).saveQuestions(anyLong(), anyList());
+    }
+
+    @Test
+    void findAllExamsWithQuestionsInParallel() {
+        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        AtomicInteger onCommonPool = new AtomicInteger();
+        when(this.questionRepository.findQuestionsByExamIds(anyCollection())).then(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            if (Thread.currentThread() instanceof ForkJoinWorkerThread worker && worker.getPool() == ForkJoinPool.commonPool()) {
+                onCommonPool.incrementAndGet();
+            }
+            Map<Long, List<String>> questions = new HashMap<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                questions.put(id, List.of("Pregunta del examen " + id));
+            }
+            running.decrementAndGet();
+            return questions;
+        });
+
+        this.examService.setHydrationParallelism(3);
+        this.examService.setBatchSize(2);
+        List<ExamWithQuestions> exams = this.examService.findAllExamsWithQuestions();
+
+        assertEquals(8, exams.size());
+        for (int i = 0; i < exams.size(); i++) {
+            assertEquals(i + 1L, exams.get(i).id());
+            assertEquals(List.of("Pregunta del examen " + (i + 1)), exams.get(i).questions());
+        }
+        assertTrue(maxRunning.get() <= 3);
+        assertEquals(0, onCommonPool.get());
+        verify(this.questionRepository, times(5)).findQuestionsByExamIds(anyCollection());
+        verify(this.questionRepository, never()).findQuestionsByExamId(anyLong());
+    }
+
+    @Test
+    void listExamsUsesKeysetPage() {
+        when(this.examRepository.findPage(2L, 2)).thenReturn(Data.getExams().subList(2, 4));
+
+        List<Exam> page = this.examService.listExams(2L, 2);
+
+        assertEquals(List.of(3L, 4L), page.stream().map(Exam::getId).toList());
+        verify(this.examRepository, never()).findAll();
     }
 
     @Test
@@ -157,7 +339,7 @@ class ExamenServiceImplTest {
                 return examToSave;
             }
         });
-        doNothing().when(this.questionRepository).saveQuestions(anyList());
+        doNothing().when(this.questionRepository).saveQuestions(anyLong(), anyList());
 
         // when
         Exam examDB = this.examService.saveExam(exam);
@@ -168,50 +350,49 @@ class ExamenServiceImplTest {
         assertEquals("Kubernetes", examDB.getName());
 
         verify(this.examRepository).saveExam(any(Exam.class));
-        verify(this.questionRepository).saveQuestions(anyList());
+        verify(this.questionRepository).saveQuestions(anyLong(), anyList());
     }
 
     @Test
     void workingWithExceptions() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExamsIdNull());
-        when(this.questionRepository.findQuestionsByExamId(isNull())).thenThrow(IllegalArgumentException.class);
+        this.givenCatalog(Data.getExamsIdNull());
 
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
             this.examService.findExamByNameWithQuestions("Aritmética");
         });
 
-        assertEquals(IllegalArgumentException.class, exception.getClass());
-        verify(this.examRepository).findAll();
-        verify(this.questionRepository).findQuestionsByExamId(isNull());
+        assertEquals("¡El exam Aritmética no tiene id!", exception.getMessage());
+        verify(this.examRepository).findByName("Aritmética");
+        verify(this.questionRepository, never()).findQuestionsByExamId(any());
     }
 
     @Test
     void argumentMatchersTest() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
         when(this.questionRepository.findQuestionsByExamId(anyLong())).thenReturn(Data.getQuestions());
 
         this.examService.findExamByNameWithQuestions("Aritmética");
 
-        verify(this.examRepository).findAll();
+        verify(this.examRepository).findByName("Aritmética");
         verify(this.questionRepository).findQuestionsByExamId(argThat(arg -> arg != null && arg.equals(1L)));
         verify(this.questionRepository).findQuestionsByExamId(eq(1L));
     }
 
     @Test
     void argumentMatchersTest2() {
-//        when(this.examRepository.findAll()).thenReturn(Data.EXAMS_NEGATIVES);
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+//        this.givenCatalog(Data.getExamsNegatives());
+        this.givenCatalog(Data.getExams());
         when(this.questionRepository.findQuestionsByExamId(anyLong())).thenReturn(Data.getQuestions());
 
         this.examService.findExamByNameWithQuestions("Aritmética");
 
-        verify(this.examRepository).findAll();
+        verify(this.examRepository).findByName("Aritmética");
         verify(this.questionRepository).findQuestionsByExamId(argThat(new MiArgsMatchers()));
     }
 
     @Test
     void testArgumentCaptor() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         this.examService.findExamByNameWithQuestions("Aritmética");
 
@@ -223,7 +404,7 @@ class ExamenServiceImplTest {
 
     @Test
     void testArgumentCaptorWithAnnotations() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         this.examService.findExamByNameWithQuestions("Aritmética");
 
@@ -237,7 +418,12 @@ class ExamenServiceImplTest {
         Exam exam = Data.getExamWithoutId();
         exam.setQuestions(Data.getQuestions());
 
-        doThrow(IllegalArgumentException.class).when(this.questionRepository).saveQuestions(anyList());
+        when(this.examRepository.saveExam(any(Exam.class))).then(invocation -> {
+            Exam examDB = invocation.getArgument(0);
+            examDB.setId(10L);
+            return examDB;
+        });
+        doThrow(IllegalArgumentException.class).when(this.questionRepository).saveQuestions(anyLong(), anyList());
 
         assertThrows(IllegalArgumentException.class, () -> {
             this.examService.saveExam(exam);
@@ -246,7 +432,7 @@ class ExamenServiceImplTest {
 
     @Test
     void testDoAnswer() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         doAnswer(invocation -> {
             Long id = invocation.getArgument(0);
@@ -271,7 +457,7 @@ class ExamenServiceImplTest {
             return examDB;
         }).when(this.examRepository).saveExam(any(Exam.class));
 
-        doNothing().when(this.questionRepository).saveQuestions(anyList());
+        doNothing().when(this.questionRepository).saveQuestions(anyLong(), anyList());
 
         // when
         Exam examDB = this.examService.saveExam(exam);
@@ -282,13 +468,154 @@ class ExamenServiceImplTest {
         assertEquals("Kubernetes", examDB.getName());
 
         verify(this.examRepository).saveExam(any(Exam.class));
-        verify(this.questionRepository).saveQuestions(anyList());
+        verify(this.questionRepository).saveQuestions(anyLong(), anyList());
+    }
+
+    @Test
+    void findExamWithQuestionsDoesNotMutateRepositoryExam() {
+        List<Exam> exams = Data.getExams();
+        this.givenCatalog(exams);
+        when(this.questionRepository.findQuestionsByExamId(anyLong())).thenReturn(Data.getQuestions());
+
+        ExamWithQuestions exam = this.examService.findExamWithQuestions("Aritmética");
+
+        assertEquals(1L, exam.id());
+        assertEquals(10, exam.questions().size());
+        assertTrue(exams.get(0).getQuestions().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> exam.questions().add("Pregunta 11"));
+    }
+
+    @Test
+    void findExamByNameUsesIndexAfterFirstLookup() {
+        when(this.examRepository.findByName("Aritmética")).thenReturn(Optional.of(Data.getExams().get(0)));
+
+        Optional<Exam> first = this.examService.findExamByName("Aritmética");
+        Optional<Exam> second = this.examService.findExamByName("Aritmética");
+
+        assertEquals(1L, first.orElseThrow().getId());
+        assertSame(first.get(), second.orElseThrow());
+        verify(this.examRepository, times(1)).findByName("Aritmética");
+    }
+
+    @Test
+    void findExamByNameWithQuestionsKeepsIndexedExamUntouched() {
+        when(this.examRepository.findByName("Geometría")).thenReturn(Optional.of(Data.getExams().get(1)));
+        when(this.questionRepository.findQuestionsByExamId(anyLong())).thenReturn(Data.getQuestions());
+
+        Exam exam = this.examService.findExamByNameWithQuestions("Geometría");
+        Exam indexed = this.examService.findExamByNameOrNull("Geometría");
+
+        assertNotSame(indexed, exam);
+        assertTrue(indexed.getQuestions().isEmpty());
+        assertEquals(10, this.examService.findExamWithQuestions("Geometría").questions().size());
+    }
+
+    @Test
+    void saveExamKeepsIndexInSync() {
+        when(this.examRepository.saveExam(any(Exam.class))).thenReturn(Data.getExam());
+
+        this.examService.saveExam(Data.getExam());
+        Optional<Exam> docker = this.examService.findExamByName("Docker");
+
+        assertEquals(9L, docker.orElseThrow().getId());
+        verify(this.examRepository, never()).findByName(anyString());
+    }
+
+    @Test
+    void saveExamWithoutResultInvalidatesIndex() {
+        when(this.examRepository.findByName("Aritmética")).thenReturn(Optional.of(Data.getExams().get(0)));
+
+        this.examService.findExamByName("Aritmética");
+        this.examService.saveExam(Data.getExamWithoutId());
+        this.examService.findExamByName("Aritmética");
+
+        verify(this.examRepository, times(2)).findByName("Aritmética");
+    }
+
+    @Test
+    void saveExamDropsPreviousNameOnRename() {
+        when(this.examRepository.findByName("Aritmética")).thenReturn(Optional.of(Data.getExams().get(0)));
+        Exam renamed = new Exam(1L, "Aritmética básica");
+        when(this.examRepository.saveExam(renamed)).thenReturn(renamed);
+
+        assertTrue(this.examService.findExamByName("Aritmética").isPresent());
+        this.examService.saveExam(renamed);
+        when(this.examRepository.findByName("Aritmética")).thenReturn(Optional.empty());
+
+        assertNull(this.examService.findExamByNameOrNull("Aritmética"));
+        assertSame(renamed, this.examService.findExamByNameOrNull("Aritmética básica"));
+        verify(this.examRepository, times(2)).findByName("Aritmética");
+    }
+
+    @Test
+    void readOverlappingRenameDoesNotRestorePreviousName() {
+        Exam renamed = new Exam(1L, "Aritmética básica");
+        when(this.examRepository.saveExam(renamed)).thenReturn(renamed);
+        // El renombre termina mientras la lectura ya tiene en mano el examen con el nombre anterior
+        when(this.examRepository.findByName("Aritmética")).then(invocation -> {
+            this.examService.saveExam(renamed);
+            return Optional.of(Data.getExams().get(0));
+        }).thenReturn(Optional.empty());
+
+        this.examService.findExamByNameOrNull("Aritmética");
+
+        assertNull(this.examService.findExamByNameOrNull("Aritmética"));
+        assertSame(renamed, this.examService.findExamByNameOrNull("Aritmética básica"));
+        verify(this.examRepository, times(2)).findByName("Aritmética");
+    }
+
+    @Test
+    void saveExamsDropsPreviousNamesOnRename() {
+        when(this.examRepository.findByNames(anyCollection())).thenReturn(List.of(Data.getExams().get(0), Data.getExams().get(1)));
+        when(this.questionRepository.findQuestionsByExamIds(anyCollection())).thenReturn(Map.of());
+        List<Exam> renamed = List.of(new Exam(1L, "Aritmética básica"), new Exam(2L, "Geometría plana"));
+        when(this.examRepository.saveExams(renamed)).thenReturn(renamed);
+
+        this.examService.findExamsByNamesWithQuestions(List.of("Aritmética", "Geometría"));
+        this.examService.saveExams(renamed);
+
+        assertNull(this.examService.findExamByNameOrNull("Geometría"));
+        assertSame(renamed.get(1), this.examService.findExamByNameOrNull("Geometría plana"));
+        verify(this.examRepository).findByName("Geometría");
+    }
+
+    @Test
+    void findExamsByNamesWithQuestionsUsesIndexedExams() {
+        when(this.examRepository.findByName("Aritmética")).thenReturn(Optional.of(Data.getExams().get(0)));
+        when(this.examRepository.findByNames(anyCollection())).thenReturn(List.of(Data.getExams().get(1)));
+        when(this.questionRepository.findQuestionsByExamIds(anyCollection())).thenReturn(Map.of());
+
+        this.examService.findExamByName("Aritmética");
+        List<Exam> exams = this.examService.findExamsByNamesWithQuestions(List.of("Aritmética", "Geometría"));
+
+        assertEquals(List.of(1L, 2L), exams.stream().map(Exam::getId).toList());
+        verify(this.examRepository).findByNames(Set.of("Geometría"));
+    }
+
+    @Test
+    void findExamByNameWithQuestionsTracesEachStage() {
+        StageTracer tracer = new StageTracer("exam.service.findExamByNameWithQuestions", 1, 16);
+        this.examService.setTracer(tracer);
+        this.givenCatalog(Data.getExams());
+        when(this.questionRepository.findQuestionsByExamId(1L)).thenReturn(Data.getQuestions());
+
+        this.examService.findExamByNameWithQuestions("Aritmética");
+        assertThrows(ExamNotFoundException.class, () -> this.examService.findExamByNameWithQuestions("Lenguaje"));
+        this.examService.findExamWithQuestions("Aritmética");
+
+        List<StageTrace> traces = tracer.recent();
+        assertEquals(2, traces.size());
+        assertEquals(List.of("lookup", "questions", "assemble"), traces.get(0).getStages());
+        assertFalse(traces.get(0).isFailed());
+        assertEquals("Lenguaje", traces.get(1).getKey());
+        assertEquals(List.of("lookup"), traces.get(1).getStages());
+        assertTrue(traces.get(1).isFailed());
     }
 
     @Test
     @Disabled
     void testToCallRealMethod() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         // this.questionRepository: tiene que ser definido como una implementación concreta, ya que usamos el doCallRealMethod()
         // por eso deshabilité este método para seguir trabajando con las interfaces anotadas con Mock
@@ -301,4 +628,10 @@ class ExamenServiceImplTest {
         assertFalse(exam.getQuestions().isEmpty());
         assertEquals("Pregunta 1 (real)", exam.getQuestions().get(0));
     }
-}
\ No newline at end of file
+
+    private void givenCatalog(List<Exam> exams) {
+        when(this.examRepository.findByName(anyString())).then(invocation -> exams.stream()
+                .filter(exam -> exam.getName().equals(invocation.getArgument(0)))
+                .findFirst());
+    }
+}
@@ -0,0 +1,69 @@
+package org.magadiflo.mockito.app.services.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.magadiflo.mockito.app.metrics.SimpleMetricsRegistry;
+import org.magadiflo.mockito.app.models.Exam;
+import org.magadiflo.mockito.app.services.IExamService;
+import org.magadiflo.mockito.app.source.Data;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedExamServiceImplTest {
+    @Mock
+    private IExamService examService;
+
+    private SimpleMetricsRegistry registry;
+    private InstrumentedExamServiceImpl instrumentedService;
+
+    @BeforeEach
+    void setUp() {
+        this.registry = new SimpleMetricsRegistry();
+        this.instrumentedService = new InstrumentedExamServiceImpl(this.examService, this.registry);
+    }
+
+    @Test
+    void recordsLatencyAndQuestionCount() {
+        Exam exam = Data.getExam();
+        exam.setQuestions(Data.getQuestions());
+        when(this.examService.findExamByNameWithQuestions("Docker")).thenReturn(exam);
+
+        this.instrumentedService.findExamByNameWithQuestions("Docker");
+        this.instrumentedService.findExamByNameWithQuestions("Docker");
+
+        assertEquals(2, this.registry.histogram("exam.service.findExamByNameWithQuestions").getCount());
+        assertEquals(10, this.registry.histogram("exam.service.questions").getPercentile(50));
+        assertEquals(0, this.registry.count("exam.service.misses"));
+    }
+
+    @Test
+    void countsMissesSeparatelyFromErrors() {
+        when(this.examService.findExamByNameWithQuestions("Lenguaje")).thenThrow(new NoSuchElementException("¡No existe el exam Lenguaje buscado!"));
+        when(this.examService.saveExam(any(Exam.class))).thenThrow(IllegalArgumentException.class);
+
+        assertThrows(NoSuchElementException.class, () -> this.instrumentedService.findExamByNameWithQuestions("Lenguaje"));
+        assertThrows(IllegalArgumentException.class, () -> this.instrumentedService.saveExam(Data.getExam()));
+
+        assertEquals(1, this.registry.count("exam.service.misses"));
+        assertEquals(0, this.registry.count("exam.service.findExamByNameWithQuestions.errors"));
+        assertEquals(1, this.registry.count("exam.service.saveExam.errors"));
+        assertEquals(1, this.registry.histogram("exam.service.saveExam").getCount());
+    }
+
+    @Test
+    void noopRegistryOnlyDelegates() {
+        when(this.examService.findExamByNameOrNull("Docker")).thenReturn(Data.getExam());
+
+        Exam exam = new InstrumentedExamServiceImpl(this.examService).findExamByNameOrNull("Docker");
+
+        assertEquals(9L, exam.getId());
+        verify(this.examService).findExamByNameOrNull("Docker");
+    }
+}
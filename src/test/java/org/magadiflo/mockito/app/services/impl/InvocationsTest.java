@@ -2,6 +2,7 @@ package org.magadiflo.mockito.app.services.impl;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.magadiflo.mockito.app.models.Exam;
 import org.magadiflo.mockito.app.repositories.IExamRepository;
 import org.magadiflo.mockito.app.repositories.IQuestionRepository;
 import org.magadiflo.mockito.app.source.Data;
@@ -10,9 +11,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -28,7 +31,7 @@ class InvocationsTest {
 
     @Test
     void orderInvocationsTest() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         this.examService.findExamByNameWithQuestions("Aritmética");
         this.examService.findExamByNameWithQuestions("Programación");
@@ -41,7 +44,7 @@ class InvocationsTest {
 
     @Test
     void orderInvocationsTest2() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
 
         this.examService.findExamByNameWithQuestions("Aritmética");
@@ -49,15 +52,15 @@ class InvocationsTest {
 
         InOrder inOrder = inOrder(this.examRepository, this.questionRepository);
 
-        inOrder.verify(this.examRepository).findAll();
+        inOrder.verify(this.examRepository).findByName("Aritmética");
         inOrder.verify(this.questionRepository).findQuestionsByExamId(1L);
-        inOrder.verify(this.examRepository).findAll();
+        inOrder.verify(this.examRepository).findByName("Programación");
         inOrder.verify(this.questionRepository).findQuestionsByExamId(5L);
     }
 
     @Test
     void numberInvocationsTest() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         this.examService.findExamByNameWithQuestions("Aritmética");
 
@@ -71,17 +74,23 @@ class InvocationsTest {
 
     @Test
     void neverTest() {
-        when(this.examRepository.findAll()).thenReturn(Data.getExams());
+        this.givenCatalog(Data.getExams());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> {
             this.examService.findExamByNameWithQuestions("Lenguaje");
         });
 
-        assertEquals(NoSuchElementException.class, exception.getClass());
+        assertInstanceOf(NoSuchElementException.class, exception);
         assertEquals("¡No existe el exam Lenguaje buscado!", exception.getMessage());
 
-        verify(this.examRepository, times(1)).findAll();
+        verify(this.examRepository, times(1)).findByName("Lenguaje");
         verify(this.questionRepository, never()).findQuestionsByExamId(anyLong());
         verifyNoInteractions(this.questionRepository);
     }
+
+    private void givenCatalog(List<Exam> exams) {
+        when(this.examRepository.findByName(anyString())).then(invocation -> exams.stream()
+                .filter(exam -> exam.getName().equals(invocation.getArgument(0)))
+                .findFirst());
+    }
 }
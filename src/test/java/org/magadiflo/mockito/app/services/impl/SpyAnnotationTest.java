@@ -10,6 +10,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -35,7 +37,7 @@ class SpyAnnotationTest {
 
     @Test
     void testSpyWithSimulatedCalls() {
-        doReturn(Data.getExams()).when(this.examRepository).findAll();
+        doReturn(Optional.of(Data.getExams().get(0))).when(this.examRepository).findByName("Aritmética");
         doReturn(Data.getQuestions()).when(this.questionRepository).findQuestionsByExamId(anyLong());
 
         Exam exam = this.examService.findExamByNameWithQuestions("Aritmética");
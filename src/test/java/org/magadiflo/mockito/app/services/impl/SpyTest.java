@@ -9,6 +9,8 @@ import org.magadiflo.mockito.app.repositories.impl.QuestionRepositoryImpl;
 import org.magadiflo.mockito.app.services.IExamService;
 import org.magadiflo.mockito.app.source.Data;
 
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -34,7 +36,7 @@ class SpyTest {
         IQuestionRepository questionRepository = spy(QuestionRepositoryImpl.class);
         IExamService examService = new ExamenServiceImpl(examRepository, questionRepository);
 
-        doReturn(Data.getExams()).when(examRepository).findAll();
+        doReturn(Optional.of(Data.getExams().get(0))).when(examRepository).findByName("Aritmética");
         doReturn(Data.getQuestions()).when(questionRepository).findQuestionsByExamId(anyLong());
 
         Exam exam = examService.findExamByNameWithQuestions("Aritmética");